@@ -0,0 +1,32 @@
+package com.strive.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR and Smile versions of the JSON API for clients that send {@code Accept: application/cbor} or
+ * {@code application/x-jackson-smile}. Both are written from the same DTOs by Jackson, so there is no
+ * second schema to keep in step; numbers and image bytes are binary, and Smile also back-references
+ * repeated field names. MVC would register these converters on its own once the dataformats are on the
+ * classpath, but with plain mappers; these use Boot's builder so they share the JSON mapper's settings.
+ * JSON stays the default for any other Accept header. DTOs hold images as {@code byte[]} under the
+ * {@code imageBase64} name clients already read: a base64 string in JSON, a raw byte string here.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
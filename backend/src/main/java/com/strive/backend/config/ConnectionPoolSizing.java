@@ -0,0 +1,36 @@
+package com.strive.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the Hikari pool from the core count when {@code spring.datasource.hikari.maximum-pool-size} is
+ * not set, using the usual starting point of two connections per core plus one per disk the database
+ * waits on. More connections than that only queue inside MySQL; an explicit pool size still wins.
+ * Id blocks are reserved over a pool of their own (see {@link IdBlockAllocator}), which is not sized here.
+ */
+@Slf4j
+@Component
+public class ConnectionPoolSizing implements BeanPostProcessor {
+
+    @Value("${persistence.pool.connections-per-core:2}")
+    private int connectionsPerCore;
+
+    @Value("${persistence.pool.effective-spindles:1}")
+    private int effectiveSpindles;
+
+    // Runs after the spring.datasource.hikari.* properties are bound and before the pool starts
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource && dataSource.getMaximumPoolSize() <= 0) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            int poolSize = cores * connectionsPerCore + effectiveSpindles;
+            dataSource.setMaximumPoolSize(poolSize);
+            log.info("Sized connection pool {} to {} connections for {} cores", beanName, poolSize, cores);
+        }
+        return bean;
+    }
+}
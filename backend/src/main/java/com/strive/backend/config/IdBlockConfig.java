@@ -0,0 +1,37 @@
+package com.strive.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The connections {@link IdBlockGenerator} reserves id blocks with. They go to the database in
+ * {@code spring.datasource.*}, the primary when replicas are on, and are kept apart from the
+ * application pool; the allocator is not a {@code DataSource} bean so Boot's own is still created.
+ */
+@Configuration
+public class IdBlockConfig {
+
+    static final String ALLOCATOR_SETTING = "strive.id-block-allocator";
+
+    // One connection per entity with an id block generator is enough; each reserves under its own lock
+    @Value("${persistence.id-blocks.pool-size:2}")
+    private int poolSize;
+
+    @Bean(destroyMethod = "close")
+    public IdBlockAllocator idBlockAllocator(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("id-blocks");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        return new IdBlockAllocator(dataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idBlockAllocatorCustomizer(IdBlockAllocator idBlockAllocator) {
+        return properties -> properties.put(ALLOCATOR_SETTING, idBlockAllocator);
+    }
+}
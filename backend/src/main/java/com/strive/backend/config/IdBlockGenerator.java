@@ -0,0 +1,66 @@
+package com.strive.backend.config;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generator behind {@link IdBlockSequence}. One instance serves an entity for the whole session factory;
+ * it hands out the current block and reserves the next one through the {@link IdBlockAllocator} that
+ * {@link IdBlockConfig} passes in with the Hibernate settings. Hibernate creates it through Spring's bean
+ * container, which needs the no-argument constructor; the settings arrive in {@link #initialize}.
+ */
+public class IdBlockGenerator implements BeforeExecutionGenerator, AnnotationBasedGenerator<IdBlockSequence> {
+
+    private String table;
+    private int blockSize;
+    private boolean longIds;
+    private IdBlockAllocator allocator;
+    // A lock rather than synchronized, which would pin a virtual thread while the block is reserved
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next;
+    private long end;
+
+    @Override
+    public void initialize(IdBlockSequence config, Member member, GeneratorCreationContext context) {
+        this.table = config.table();
+        this.blockSize = config.blockSize();
+        this.longIds = ((Field) member).getType() == Long.class;
+        this.allocator = (IdBlockAllocator) context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(IdBlockConfig.ALLOCATOR_SETTING);
+        if (allocator == null) {
+            throw new IllegalStateException("No " + IdBlockConfig.ALLOCATOR_SETTING + " in the Hibernate settings");
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        lock.lock();
+        try {
+            if (next == end) {
+                next = allocator.allocate(table, blockSize);
+                end = next + blockSize;
+            }
+            long id = next++;
+            return longIds ? (Object) id : (Object) Math.toIntExact(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
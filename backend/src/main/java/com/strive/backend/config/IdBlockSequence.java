@@ -0,0 +1,22 @@
+package com.strive.backend.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns ids from a block reserved in {@code table}, so inserts of new rows need no round trip for
+ * their ids and several can share one JDBC batch. See {@link IdBlockAllocator}.
+ */
+@IdGeneratorType(IdBlockGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface IdBlockSequence {
+
+    String table();
+
+    int blockSize() default 50;
+}
@@ -0,0 +1,65 @@
+package com.strive.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with one that routes read-only transactions to the
+ * replicas in {@code persistence.replicas.urls}. The primary pool is still configured through
+ * {@code spring.datasource.*}; replica pools copy its settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "persistence.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicas readReplicas(HikariDataSource primaryDataSource, MeterRegistry meterRegistry,
+                                     @Value("${persistence.replicas.urls}") String urls,
+                                     @Value("${persistence.replicas.max-lag-seconds:2}") long maxLagSeconds,
+                                     @Value("${persistence.replicas.lag-query:}") String lagQuery) {
+        return new ReadReplicas(primaryDataSource, List.of(StringUtils.commaDelimitedListToStringArray(urls)),
+                maxLagSeconds, lagQuery, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplicas readReplicas,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${persistence.replicas.read-your-writes-ms:5000}") long readYourWritesMs) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, readReplicas,
+                readYourWritesMs, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // By default the session keeps its connection for the whole request under open-in-view, so a write
+    // after a read-only transaction would reuse the replica connection; release it after each transaction
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,147 @@
+package com.strive.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The replica connection pools and how far each replica is behind the primary. Lag is checked on a
+ * schedule, by default from {@code Seconds_Behind_Source} in {@code SHOW REPLICA STATUS}; a replica that
+ * is further behind than {@code persistence.replicas.max-lag-seconds}, has stopped replicating or cannot
+ * be reached gets no reads until a later check finds it caught up. Replicas start out unavailable until
+ * their first check.
+ */
+@Slf4j
+public class ReadReplicas implements AutoCloseable {
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final long maxLagSeconds;
+    private final String lagQuery;
+
+    /**
+     * Opens one pool per URL with the primary pool's settings and credentials.
+     */
+    public ReadReplicas(HikariDataSource primary, List<String> urls, long maxLagSeconds, String lagQuery,
+                        MeterRegistry meterRegistry) {
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setPoolName("replica-" + (i + 1));
+            config.setReadOnly(true);
+            if (config.getMetricRegistry() == null && config.getMetricsTrackerFactory() == null) {
+                config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+            // Lets the application start while a replica is down; it stays unavailable until it answers
+            config.setInitializationFailTimeout(-1);
+
+            Replica replica = new Replica(config.getPoolName(), new HikariDataSource(config));
+            replicas.add(replica);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Seconds the replica is behind the primary, -1 if unknown")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether the replica currently receives reads")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * The next available replica in round-robin order, or null when none is available.
+     */
+    public String next() {
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.available) {
+                return replica.name;
+            }
+        }
+        return null;
+    }
+
+    public Map<Object, Object> dataSources() {
+        Map<Object, Object> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.name, replica.dataSource));
+        return dataSources;
+    }
+
+    @Scheduled(fixedDelayString = "${persistence.replicas.lag-check-ms:1000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            long lag;
+            try {
+                lag = measureLag(replica.dataSource);
+            } catch (SQLException e) {
+                log.debug("Lag check failed for {}: {}", replica.name, e.getMessage());
+                lag = -1;
+            }
+            boolean available = lag >= 0 && lag <= maxLagSeconds;
+            if (available != replica.available) {
+                if (available) {
+                    log.info("Read replica {} is available, {} s behind", replica.name, lag);
+                } else {
+                    log.warn("Read replica {} is unavailable, lag {} s (max {} s)", replica.name, lag, maxLagSeconds);
+                }
+            }
+            replica.lagSeconds = lag;
+            replica.available = available;
+        }
+    }
+
+    // Seconds behind the primary, or -1 when the replica is not replicating
+    private long measureLag(HikariDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (lagQuery != null && !lagQuery.isBlank()) {
+                try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                    return rs.next() ? rs.getLong(1) : -1;
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!rs.next()) {
+                    return -1;
+                }
+                long seconds = rs.getLong("Seconds_Behind_Source");
+                return rs.wasNull() ? -1 : seconds;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+        private volatile long lagSeconds = -1;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
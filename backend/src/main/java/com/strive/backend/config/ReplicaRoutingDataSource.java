@@ -0,0 +1,93 @@
+package com.strive.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to a read replica and everything
+ * else to the primary. A user whose write transaction has just committed reads from the primary for
+ * {@code persistence.replicas.read-your-writes-ms}, so e.g. the order list right after checkout includes
+ * the new order even while the replicas catch up. Writers are remembered per instance by user name;
+ * anonymous requests are never pinned. The decision is made when a connection is first used, so this
+ * has to sit behind a {@code LazyConnectionDataSourceProxy}. Each decision is counted as
+ * {@code datasource.routing}, tagged with the target and the reason.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReadReplicas replicas;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas, long readYourWritesMs,
+                                    MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.meterRegistry = meterRegistry;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(readYourWritesMs))
+                .maximumSize(100_000)
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>(replicas.dataSources());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterOnCommit(user);
+            return route(PRIMARY, "not-read-only");
+        }
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return route(PRIMARY, "read-your-writes");
+        }
+        String replica = replicas.next();
+        if (replica == null) {
+            return route(PRIMARY, "no-replica-available");
+        }
+        return route(replica, "read-only");
+    }
+
+    private void rememberWriterOnCommit(String user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private String route(String target, String reason) {
+        Counter.builder("datasource.routing")
+                .description("Connections handed out, by target database and routing reason")
+                .tag("target", PRIMARY.equals(target) ? PRIMARY : "replica")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return target;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,196 @@
+package com.strive.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds how many requests run at once on virtual threads. Tomcat's platform thread pool is itself the
+ * bound in the other mode; virtual threads admit every request, and a burst would pile up on the Hikari
+ * pool. With open-in-view a request keeps its connection until it completes, so permits default to the
+ * maximum pool size, and the excess waits briefly for a permit and then gets a 503 with Retry-After.
+ * Streamed arrays hold their connection for as long as the client reads, so they take permits from a
+ * small share of their own and cannot starve the short requests. Paths that never touch the database,
+ * such as health checks and the cached storefront home page, are not limited.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // Hikari's own default, used when the pool size is not configured or cannot be read
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 0 = the Hikari maximum pool size less the streaming share
+    @Value("${concurrency.request-limit.max-concurrent:0}")
+    private int maxConcurrent;
+
+    @Value("${concurrency.request-limit.max-streaming:2}")
+    private int maxStreaming;
+
+    @Value("${concurrency.request-limit.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMs;
+
+    @Value("${concurrency.request-limit.excluded-paths:/actuator/**,/api/storefront/home}")
+    private List<String> excludedPaths;
+
+    // GET only; the same paths also take writes, which are short
+    @Value("${concurrency.request-limit.streaming-paths:/api/products,/api/orders,/api/finances/transactions/all}")
+    private List<String> streamingPaths;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private Semaphore permits;
+    private Semaphore streamingPermits;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        int limit = maxConcurrent > 0 ? maxConcurrent : Math.max(poolSize() - maxStreaming, 1);
+        permits = register(new Semaphore(limit, true), limit, "request");
+        streamingPermits = register(new Semaphore(maxStreaming, true), maxStreaming, "streaming");
+        rejected = Counter.builder("http.server.requests.concurrency.rejected")
+                .description("Requests answered 503 because no permit became free in time")
+                .register(meterRegistry);
+        log.info("Admitting {} concurrent requests and {} streamed responses", limit, maxStreaming);
+    }
+
+    private Semaphore register(Semaphore semaphore, int limit, String kind) {
+        Gauge.builder("http.server.requests.concurrency.limit", () -> limit)
+                .description("Requests allowed to run at once")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.concurrency.waiting", semaphore, Semaphore::getQueueLength)
+                .description("Requests waiting for a permit")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        return semaphore;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return matches(excludedPaths, request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Semaphore semaphore = HttpMethod.GET.matches(request.getMethod())
+                && matches(streamingPaths, request.getRequestURI()) ? streamingPermits : permits;
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Server is busy, please try again shortly");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // A streamed body keeps using its connection after this thread returns
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(semaphore));
+            } else {
+                semaphore.release();
+            }
+        }
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        return patterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private int poolSize() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                // Unset (-1) until the pool starts, when Hikari applies its default
+                int size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                return size > 0 ? size : DEFAULT_POOL_SIZE;
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read the connection pool size: {}", e.getMessage());
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+
+    // Completion can be reported more than once, e.g. on error and then on complete
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnCompletion(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.strive.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.strive.backend.model.Category;
+import com.strive.backend.model.FeaturedCategory;
+import com.strive.backend.model.FeaturedProduct;
+import com.strive.backend.model.Product;
+import com.strive.backend.model.ProductImage;
+import com.strive.backend.model.PromotionalBanner;
+import com.strive.backend.model.Stock;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level and query cache for the catalogue: categories, products with their images
+ * and stocks, banners and featured entries. Regions live in an in-process Caffeine JCache manager,
+ * bounded by entry count and expired after {@code cache.catalog.ttl-seconds}. Writes through Hibernate
+ * keep the local regions current; the TTL bounds how long another instance can serve a stale copy.
+ * Entities that are not listed here cannot be cached, since regions are never created on demand.
+ * With statistics on, Boot publishes hit, miss and put counts per region as the hibernate.* meters.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Value("${cache.catalog.max-entries:10000}")
+    private long maxEntries;
+
+    // Image regions hold the image bytes, so they get a smaller bound
+    @Value("${cache.catalog.image-max-entries:2000}")
+    private long imageMaxEntries;
+
+    @Value("${cache.catalog.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    // A manager of its own rather than the provider's shared default, so that a second application
+    // context in the same JVM (as in the tests) does not collide on the region names
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("strive-catalog-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        for (String region : List.of(entity(Category.class), collection(Category.class, "children"),
+                entity(Product.class), collection(Product.class, "stocks"), entity(Stock.class),
+                entity(PromotionalBanner.class), entity(FeaturedCategory.class), entity(FeaturedProduct.class),
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)) {
+            cacheManager.createCache(region, regionConfiguration(maxEntries, ttlSeconds));
+        }
+        for (String region : List.of(entity(ProductImage.class), collection(Product.class, "images"))) {
+            cacheManager.createCache(region, regionConfiguration(imageMaxEntries, ttlSeconds));
+        }
+        // Last-write time per table, checked before a cached query result is used; must not be evicted
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(-1, -1));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            // Statistics are for the hibernate.* meters; without this every session logs a summary at INFO
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxEntries, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        return configuration;
+    }
+
+    private static String entity(Class<?> type) {
+        return type.getName();
+    }
+
+    private static String collection(Class<?> owner, String property) {
+        return owner.getName() + "." + property;
+    }
+}
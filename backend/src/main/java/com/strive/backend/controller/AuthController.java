@@ -6,16 +6,23 @@ import com.strive.backend.dto.RegisterRequest;
 import com.strive.backend.dto.GoogleLoginRequest;
 import com.strive.backend.dto.PasswordResetRequestDTO;
 import com.strive.backend.dto.PasswordResetConfirmDTO;
+import com.strive.backend.dto.RefreshTokenRequest;
 import com.strive.backend.dto.UserDTO;
+import com.strive.backend.exception.TooManyRequestsException;
 import com.strive.backend.model.User;
+import com.strive.backend.security.JwtKeyStore;
 import com.strive.backend.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -24,6 +31,9 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private JwtKeyStore jwtKeyStore;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
         try {
@@ -39,8 +49,12 @@ public class AuthController {
             userDTO.setCountryCode(loginResponse.getCountryCode());
             userDTO.setRole(loginResponse.getRole());
             userDTO.setToken(loginResponse.getToken());
+            userDTO.setRefreshToken(loginResponse.getRefreshToken());
+            userDTO.setExpiresIn(loginResponse.getExpiresIn());
 
             return ResponseEntity.ok(userDTO);
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (UsernameNotFoundException | BadCredentialsException e) {
             return ResponseEntity.status(401).body(e.getMessage());
         } catch (Exception e) {
@@ -63,6 +77,8 @@ public class AuthController {
             responseDTO.setRole(user.getRole().name());
 
             return ResponseEntity.ok(responseDTO);
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -85,6 +101,8 @@ public class AuthController {
             userDTO.setCountryCode(loginResponse.getCountryCode());
             userDTO.setRole(loginResponse.getRole());
             userDTO.setToken(loginResponse.getToken());
+            userDTO.setRefreshToken(loginResponse.getRefreshToken());
+            userDTO.setExpiresIn(loginResponse.getExpiresIn());
             
             return ResponseEntity.ok(userDTO);
         } catch (Exception e) {
@@ -110,6 +128,8 @@ public class AuthController {
         try {
             authService.confirmPasswordReset(confirmDTO);
             return ResponseEntity.ok().body("Password has been successfully reset. You can now login with your new password.");
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -117,4 +137,46 @@ public class AuthController {
                 .body("An error occurred while resetting your password: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        try {
+            LoginResponse loginResponse = authService.refresh(refreshRequest.getRefreshToken());
+
+            UserDTO userDTO = new UserDTO();
+            userDTO.setUserId(loginResponse.getUserId());
+            userDTO.setEmail(loginResponse.getEmail());
+            userDTO.setFirstName(loginResponse.getFirstName());
+            userDTO.setLastName(loginResponse.getLastName());
+            userDTO.setPhone(loginResponse.getPhone());
+            userDTO.setCountryCode(loginResponse.getCountryCode());
+            userDTO.setRole(loginResponse.getRole());
+            userDTO.setToken(loginResponse.getToken());
+            userDTO.setRefreshToken(loginResponse.getRefreshToken());
+            userDTO.setExpiresIn(loginResponse.getExpiresIn());
+
+            return ResponseEntity.ok(userDTO);
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(401).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("An error occurred: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        authService.logout(refreshRequest.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok(jwtKeyStore.getJwks());
+    }
+
+    private ResponseEntity<?> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -23,8 +24,9 @@ public class CategoryController {
     private ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategoryDTO>> getAllCategories(WebRequest request) {
+        return ConditionalGet.respond(request, categoryService.getAllCategoriesETag(),
+                categoryService::getAllCategories);
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -0,0 +1,35 @@
+package com.strive.backend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers a GET with 304 when the client's If-None-Match matches the entity tag, and only builds the
+ * body otherwise. Responses are marked no-cache: browsers keep them but revalidate on every use, and
+ * Spring Security's default no-store is not applied. The body
+ * may be JSON, CBOR or Smile, so responses vary by Accept; the tag describes the data, not the encoding.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        // checkNotModified has already set the ETag header and, on a match, the 304 status
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body.get());
+    }
+}
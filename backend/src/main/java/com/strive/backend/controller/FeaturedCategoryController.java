@@ -5,6 +5,7 @@ import com.strive.backend.service.FeaturedCategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -17,8 +18,9 @@ public class FeaturedCategoryController {
     private FeaturedCategoryService featuredCategoryService;
 
     @GetMapping
-    public ResponseEntity<List<FeaturedCategoryDTO>> getAllFeaturedCategories() {
-        return ResponseEntity.ok(featuredCategoryService.getAllFeaturedCategories());
+    public ResponseEntity<List<FeaturedCategoryDTO>> getAllFeaturedCategories(WebRequest request) {
+        return ConditionalGet.respond(request, featuredCategoryService.getAllFeaturedCategoriesETag(),
+                featuredCategoryService::getAllFeaturedCategories);
     }
 
     @PostMapping
@@ -1,16 +1,31 @@
 package com.strive.backend.controller;
 
+import com.strive.backend.dto.CategorySalesDTO;
 import com.strive.backend.dto.FinancialMetricDTO;
 import com.strive.backend.dto.FinancialOverviewDTO;
 import com.strive.backend.dto.FinancialTransactionDTO;
+import com.strive.backend.dto.FinancialTransactionPageDTO;
+import com.strive.backend.dto.MetricsBackfillJobDTO;
+import com.strive.backend.dto.ProductSalesDTO;
+import com.strive.backend.dto.RevenueSeriesDTO;
+import com.strive.backend.dto.SizeSalesDTO;
+import com.strive.backend.model.FinancialTransaction;
+import com.strive.backend.model.MetricGranularity;
 import com.strive.backend.service.FinancialService;
+import com.strive.backend.service.MetricsBackfillService;
+import com.strive.backend.service.ProductSalesService;
+import com.strive.backend.service.RevenueAnalyticsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.security.Principal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,6 +35,10 @@ import java.util.List;
 public class FinancialController {
 
     private final FinancialService financialService;
+    private final RevenueAnalyticsService revenueAnalyticsService;
+    private final ProductSalesService productSalesService;
+    private final MetricsBackfillService metricsBackfillService;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     @GetMapping("/overview")
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
@@ -44,7 +63,95 @@ public class FinancialController {
     
     @GetMapping("/transactions/all")
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
-    public ResponseEntity<List<FinancialTransactionDTO>> getAllTransactions() {
-        return ResponseEntity.ok(financialService.getAllTransactions());
+    public ResponseEntity<StreamingResponseBody> getAllTransactions(WebRequest request) {
+        return jsonArrayStreamer.<FinancialTransactionDTO>stream(request, (last, size) -> financialService.getTransactionPage(
+                null, null, last != null ? last.getCreatedAt() : null, last != null ? last.getId() : null, size)
+                .getContent());
     }
-} 
\ No newline at end of file
+    
+    @GetMapping("/transactions/page")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<FinancialTransactionPageDTO> getTransactionPage(
+            @RequestParam(required = false) FinancialTransaction.TransactionType type,
+            @RequestParam(required = false) Long orderId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "25") int size) {
+        return ResponseEntity.ok(financialService.getTransactionPage(type, orderId, beforeCreatedAt, beforeId, size));
+    }
+    
+    @GetMapping("/analytics/revenue")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<RevenueSeriesDTO> getRevenueSeries(
+            @RequestParam(defaultValue = "DAY") MetricGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "7") int movingAverageWindow) {
+        return ResponseEntity.ok(revenueAnalyticsService.getRevenueSeries(
+            granularity, startDate, endDate, movingAverageWindow));
+    }
+    
+    @GetMapping("/sales/top-products")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<List<ProductSalesDTO>> getTopProducts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "REVENUE") ProductSalesService.RankBy rankBy,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productSalesService.getTopProducts(startDate, endDate, rankBy, limit));
+    }
+    
+    @GetMapping("/sales/categories")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<List<CategorySalesDTO>> getCategorySales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(productSalesService.getCategorySales(startDate, endDate));
+    }
+    
+    @GetMapping("/sales/sell-through")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<List<ProductSalesDTO>> getSellThrough(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(productSalesService.getSellThrough(startDate, endDate, limit));
+    }
+    
+    @GetMapping("/sales/products/{productId}/sizes")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<List<SizeSalesDTO>> getSizeSales(
+            @PathVariable Integer productId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(productSalesService.getSizeSales(productId, startDate, endDate));
+    }
+    
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MetricsBackfillJobDTO> startBackfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Principal principal) {
+        return ResponseEntity.accepted().body(metricsBackfillService.startBackfill(
+            startDate, endDate, principal != null ? principal.getName() : null));
+    }
+    
+    @PostMapping("/backfill/{jobId}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MetricsBackfillJobDTO> resumeBackfill(@PathVariable Long jobId) {
+        return ResponseEntity.accepted().body(metricsBackfillService.resumeBackfill(jobId));
+    }
+    
+    @GetMapping("/backfill/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MetricsBackfillJobDTO> getBackfillJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(metricsBackfillService.getBackfillJob(jobId));
+    }
+    
+    @GetMapping("/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<MetricsBackfillJobDTO>> getRecentBackfillJobs() {
+        return ResponseEntity.ok(metricsBackfillService.getRecentBackfillJobs());
+    }
+} 
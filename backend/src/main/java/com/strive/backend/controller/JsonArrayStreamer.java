@@ -0,0 +1,107 @@
+package com.strive.backend.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Writes a large collection as a JSON, CBOR or Smile array one keyset page at a time, so neither the entities nor the
+ * DTOs for the whole collection are held at once and the first bytes go out after the first page.
+ * Pages are read in their own transactions; the response is written from an MVC async thread, which
+ * shares the request's open-in-view EntityManager, so that is cleared after every page. The format is
+ * picked from the Accept header with the same mappers MVC uses for other responses, JSON by default.
+ */
+@Component
+class JsonArrayStreamer {
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jsonConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${api.streaming.page-size:100}")
+    private int pageSize;
+
+    /**
+     * @param nextPage returns up to {@code size} elements following {@code last}, which is null for the
+     *                 first page; an empty page ends the array
+     */
+    <T> ResponseEntity<StreamingResponseBody> stream(WebRequest request, BiFunction<T, Integer, List<T>> nextPage) {
+        AbstractJackson2HttpMessageConverter converter = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        ObjectMapper objectMapper = converter.getObjectMapper();
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                T last = null;
+                List<T> page;
+                do {
+                    page = nextPage.apply(last, pageSize);
+                    entityManager.clear();
+                    for (T element : page) {
+                        writer.writeValue(generator, element);
+                    }
+                    generator.flush();
+                    if (!page.isEmpty()) {
+                        last = page.get(page.size() - 1);
+                    }
+                } while (!page.isEmpty());
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(converter.getSupportedMediaTypes().get(0))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    // JSON is listed first so that wildcards and unknown types get it
+    private AbstractJackson2HttpMessageConverter negotiate(String accept) {
+        List<AbstractJackson2HttpMessageConverter> converters = List.of(jsonConverter, cborConverter, smileConverter);
+        if (accept == null) {
+            return jsonConverter;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return jsonConverter;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType type : acceptable) {
+            for (AbstractJackson2HttpMessageConverter converter : converters) {
+                if (converter.getSupportedMediaTypes().stream().anyMatch(type::isCompatibleWith)) {
+                    return converter;
+                }
+            }
+        }
+        return jsonConverter;
+    }
+}
@@ -10,6 +10,8 @@ import com.strive.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -22,6 +24,7 @@ public class OrderController {
     private final OrderService orderService;
     private final UserService userService;
     private final EmailService emailService;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     @PostMapping
     public ResponseEntity<OrderResponseDTO> createOrder(@RequestBody CreateOrderDTO createOrderDTO) {
@@ -42,9 +45,9 @@ public class OrderController {
     }
     
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-        List<OrderResponseDTO> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<StreamingResponseBody> getAllOrders(WebRequest request) {
+        return jsonArrayStreamer.<OrderResponseDTO>stream(request,
+                (last, size) -> orderService.getOrdersBefore(last != null ? last.getId() : Long.MAX_VALUE, size));
     }
     
     @PatchMapping("/{orderId}/status")
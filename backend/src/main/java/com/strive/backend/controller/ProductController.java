@@ -7,7 +7,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -23,14 +25,19 @@ public class ProductController {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<StreamingResponseBody> getAllProducts(WebRequest request) {
+        return jsonArrayStreamer.<ProductDTO>stream(request,
+                (last, size) -> productService.getProductsAfter(last != null ? last.getId() : 0, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Integer id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Integer id, WebRequest request) {
+        return ConditionalGet.respond(request, productService.getProductETag(id),
+                () -> productService.getProductById(id));
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
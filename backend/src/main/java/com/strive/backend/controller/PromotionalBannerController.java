@@ -5,6 +5,7 @@ import com.strive.backend.service.PromotionalBannerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -18,18 +19,18 @@ public class PromotionalBannerController {
     private PromotionalBannerService bannerService;
 
     @GetMapping
-    public ResponseEntity<List<PromotionalBannerDTO>> getAllBanners() {
-        return ResponseEntity.ok(bannerService.getAllBanners());
+    public ResponseEntity<List<PromotionalBannerDTO>> getAllBanners(WebRequest request) {
+        return ConditionalGet.respond(request, bannerService.getAllBannersETag(), bannerService::getAllBanners);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<PromotionalBannerDTO>> getActiveBanners() {
-        return ResponseEntity.ok(bannerService.getActiveBanners());
+    public ResponseEntity<List<PromotionalBannerDTO>> getActiveBanners(WebRequest request) {
+        return ConditionalGet.respond(request, bannerService.getActiveBannersETag(), bannerService::getActiveBanners);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PromotionalBannerDTO> getBannerById(@PathVariable Integer id) {
-        return ResponseEntity.ok(bannerService.getBannerById(id));
+    public ResponseEntity<PromotionalBannerDTO> getBannerById(@PathVariable Integer id, WebRequest request) {
+        return ConditionalGet.respond(request, bannerService.getBannerETag(id), () -> bannerService.getBannerById(id));
     }
 
     @PostMapping
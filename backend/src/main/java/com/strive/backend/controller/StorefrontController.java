@@ -0,0 +1,33 @@
+package com.strive.backend.controller;
+
+import com.strive.backend.service.StorefrontHomeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/storefront")
+public class StorefrontController {
+
+    @Autowired
+    private StorefrontHomeService storefrontHomeService;
+
+    // Everything the home page shows, in one response; sent pre-compressed when the client accepts gzip
+    @GetMapping("/home")
+    public ResponseEntity<byte[]> getHome(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        StorefrontHomeService.Payload payload = storefrontHomeService.getPayload();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
+    }
+}
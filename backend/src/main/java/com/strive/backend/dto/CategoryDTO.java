@@ -1,5 +1,6 @@
 package com.strive.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import java.util.List;
 
@@ -8,7 +9,8 @@ public class CategoryDTO {
     private Long id;
     private String name;
     private Long parentId;
-    private String imageBase64;
+    @JsonProperty("imageBase64")
+    private byte[] imageData;
     private String imageType;
     private List<CategoryDTO> children;
     private boolean removeImage;
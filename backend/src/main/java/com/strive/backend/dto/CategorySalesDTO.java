@@ -0,0 +1,20 @@
+package com.strive.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySalesDTO {
+    private Long categoryId;
+    private String categoryName;
+    private Long unitsSold;
+    private BigDecimal revenue;
+    private BigDecimal revenueShare;
+}
@@ -1,5 +1,6 @@
 package com.strive.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 @Data
@@ -7,8 +8,10 @@ public class FeaturedCategoryDTO {
     private Long id;
     private Long categoryId;
     private String name;
-    private String imageBase64;
+    @JsonProperty("imageBase64")
+    private byte[] imageData;
     private String imageType;
     private Integer displayOrder;
     private String parentPath;
+    private Long version;
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.strive.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinancialTransactionPageDTO {
+    private List<FinancialTransactionDTO> content;
+    private Integer size;
+    private Boolean hasMore;
+    // Cursor for the next page; pass back as beforeCreatedAt/beforeId
+    private LocalDateTime nextCreatedAt;
+    private Long nextId;
+} 
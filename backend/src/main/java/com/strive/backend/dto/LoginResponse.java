@@ -16,4 +16,7 @@ public class LoginResponse {
     private String countryCode;
     private String role;
     private String token;
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private Long expiresIn;
 }
\ No newline at end of file
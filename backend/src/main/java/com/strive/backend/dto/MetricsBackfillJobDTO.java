@@ -0,0 +1,30 @@
+package com.strive.backend.dto;
+
+import com.strive.backend.model.MetricsBackfillJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsBackfillJobDTO {
+    private Long id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private MetricsBackfillJob.BackfillStatus status;
+    private Integer totalPartitions;
+    private Integer completedPartitions;
+    private Integer failedPartitions;
+    private Integer percentComplete;
+    private String lastError;
+    private String requestedBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
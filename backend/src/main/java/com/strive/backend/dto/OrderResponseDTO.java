@@ -20,6 +20,7 @@ public class OrderResponseDTO {
     private String cardLastFour;
     private String cardExpiry;
     private LocalDateTime createdAt;
+    private Long version;
     private List<OrderItemResponseDTO> items;
 
     @Data
@@ -19,4 +19,6 @@ public class ProductDTO {
     private Integer displayOrder;
     private Double averageRating;
     private Integer reviewCount;
+    // Send back on update; an edit of an older version is refused with 409
+    private Long version;
 } 
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.strive.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 @Data
 public class ProductImageDTO {
     private Integer id;
-    private String imageBase64;
+    @JsonProperty("imageBase64")
+    private byte[] imageData;
     private String imageType;
     private Integer displayOrder;
 } 
\ No newline at end of file
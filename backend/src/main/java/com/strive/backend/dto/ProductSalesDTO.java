@@ -0,0 +1,23 @@
+package com.strive.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesDTO {
+    private Integer productId;
+    private String productName;
+    private Integer categoryId;
+    private Long unitsSold;
+    private BigDecimal revenue;
+    // Only populated by the sell-through report
+    private Long unitsOnHand;
+    private BigDecimal sellThroughRate;
+}
@@ -17,6 +17,7 @@ public class PromotionalBannerDTO {
     private String backgroundColor;
     private Integer displayOrder;
     private Boolean active;
+    private Long version;
     
     public static PromotionalBannerDTO fromEntity(PromotionalBanner banner) {
         PromotionalBannerDTO dto = new PromotionalBannerDTO();
@@ -28,6 +29,7 @@ public class PromotionalBannerDTO {
         dto.setBackgroundColor(banner.getBackgroundColor());
         dto.setDisplayOrder(banner.getDisplayOrder());
         dto.setActive(banner.getActive());
+        dto.setVersion(banner.getVersion());
         return dto;
     }
 } 
\ No newline at end of file
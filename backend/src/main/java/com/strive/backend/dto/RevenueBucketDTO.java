@@ -0,0 +1,24 @@
+package com.strive.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueBucketDTO {
+    private LocalDateTime bucketStart;
+    private BigDecimal revenue;
+    private Integer ordersCount;
+    private BigDecimal averageOrderValue;
+    private BigDecimal movingAverageRevenue;
+    // Same-position bucket of the preceding period of equal length
+    private BigDecimal previousRevenue;
+    private Integer previousOrdersCount;
+}
@@ -0,0 +1,29 @@
+package com.strive.backend.dto;
+
+import com.strive.backend.model.MetricGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueSeriesDTO {
+    private MetricGranularity granularity;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private Integer movingAverageWindow;
+    private List<RevenueBucketDTO> buckets;
+    private BigDecimal totalRevenue;
+    private Integer totalOrders;
+    private BigDecimal previousTotalRevenue;
+    private Integer previousTotalOrders;
+    private Integer revenueGrowthRate;
+    private Integer orderGrowthRate;
+}
@@ -0,0 +1,18 @@
+package com.strive.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SizeSalesDTO {
+    private String size;
+    private Long unitsSold;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,17 @@
+package com.strive.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorefrontHomeDTO {
+    private List<PromotionalBannerDTO> banners;
+    private List<FeaturedCategoryDTO> featuredCategories;
+    private List<ProductDTO> featuredProducts;
+    private List<CategoryDTO> categories;
+}
@@ -13,6 +13,9 @@ public class UserDTO {
     private String countryCode;
     private String role;
     private String token;
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private Long expiresIn;
 
     public static UserDTO fromUser(User user, String token) {
         UserDTO dto = new UserDTO();
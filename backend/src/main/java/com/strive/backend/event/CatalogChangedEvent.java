@@ -0,0 +1,12 @@
+package com.strive.backend.event;
+
+/**
+ * Published when an admin changes catalogue data, so second-level cache copies are dropped after the
+ * transaction commits. A null id stands for every row of the type.
+ */
+public record CatalogChangedEvent(Class<?> entityType, Object id) {
+
+    public static CatalogChangedEvent all(Class<?> entityType) {
+        return new CatalogChangedEvent(entityType, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.strive.backend.event;
+
+/**
+ * Published when a user's notification preferences are saved.
+ */
+public record NotificationPreferencesChangedEvent(Integer userId) {
+}
@@ -0,0 +1,7 @@
+package com.strive.backend.event;
+
+/**
+ * Published when a user's account data changes or the user is deleted, so cached copies are dropped.
+ */
+public record UserChangedEvent(Integer userId) {
+}
@@ -0,0 +1,11 @@
+package com.strive.backend.exception;
+
+/**
+ * Thrown when a write was based on an older version of an entity than the one stored; mapped to HTTP 409.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.strive.backend.exception;
+
+/**
+ * Thrown when a full update arrives without the version it was based on; mapped to HTTP 428.
+ */
+public class PreconditionRequiredException extends RuntimeException {
+
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.strive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Weekly and monthly revenue totals, kept up to date incrementally as orders are recorded.
+ * Weeks start on Monday, months on the first day of the month.
+ */
+@Entity
+@Table(name = "financial_metric_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinancialMetricRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false)
+    private MetricGranularity granularity;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "revenue", nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "orders_count", nullable = false)
+    private Integer ordersCount;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,5 @@
+package com.strive.backend.model;
+
+public enum MetricGranularity {
+    HOUR, DAY, WEEK, MONTH
+}
@@ -0,0 +1,61 @@
+package com.strive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "metrics_backfill_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsBackfillJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BackfillStatus status;
+
+    @Column(name = "total_partitions", nullable = false)
+    private Integer totalPartitions;
+
+    // Incremented by the partition workers over JDBC, so never written back from the entity
+    @Column(name = "completed_partitions", insertable = false, updatable = false)
+    private Integer completedPartitions;
+
+    @Column(name = "failed_partitions", nullable = false)
+    private Integer failedPartitions;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "requested_by")
+    private String requestedBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum BackfillStatus {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,48 @@
+package com.strive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A contiguous range of days recomputed in one transaction. A partition is marked COMPLETED in the
+ * same transaction that writes its metrics, so a resumed job never redoes or skips finished work.
+ */
+@Entity
+@Table(name = "metrics_backfill_partitions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsBackfillPartition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "partition_start", nullable = false)
+    private LocalDate partitionStart;
+
+    @Column(name = "partition_end", nullable = false)
+    private LocalDate partitionEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MetricsBackfillJob.BackfillStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,6 +1,7 @@
 package com.strive.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.strive.backend.config.IdBlockSequence;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.math.BigDecimal;
@@ -11,7 +12,8 @@ import java.time.LocalDateTime;
 @Table(name = "order_items")
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids come in blocks from order_items_seq so several inserts can share one JDBC batch
+    @IdBlockSequence(table = "order_items_seq")
     private Long id;
 
     @JsonBackReference
@@ -15,8 +15,9 @@ public class PasswordResetToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // SHA-256 of the token sent by email; the raw token is never stored
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
@@ -28,8 +29,8 @@ public class PasswordResetToken {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
-    public PasswordResetToken(String token, User user, LocalDateTime expiryDate) {
-        this.token = token;
+    public PasswordResetToken(String tokenHash, User user, LocalDateTime expiryDate) {
+        this.tokenHash = tokenHash;
         this.user = user;
         this.expiryDate = expiryDate;
     }
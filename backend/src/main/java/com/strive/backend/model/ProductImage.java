@@ -2,11 +2,14 @@ package com.strive.backend.model;
 
 import lombok.Data;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
 @Table(name = "product_images")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ProductImage {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,51 @@
+package com.strive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Units and revenue per product and size for one day, incremented as orders are placed.
+ * The category is captured at sale time so later re-categorisation does not rewrite history.
+ */
+@Entity
+@Table(name = "product_sales_daily")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
+
+    @Column(nullable = false)
+    private String size;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "units_sold", nullable = false)
+    private Integer unitsSold;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "order_lines", nullable = false)
+    private Integer orderLines;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,15 +1,20 @@
 package com.strive.backend.model;
 
+import com.strive.backend.config.IdBlockSequence;
 import lombok.Data;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
 @Table(name = "stocks")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Stock {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids come in blocks from stocks_seq so several inserts can share one JDBC batch
+    @IdBlockSequence(table = "stocks_seq")
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -25,6 +30,9 @@ public class Stock {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     @PrePersist
     @PreUpdate
     protected void onUpdate() {
@@ -1,5 +1,7 @@
 package com.strive.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.Getter;
@@ -12,6 +14,9 @@ import java.time.LocalDateTime;
 @Entity(name = "Users")
 public class User {
 
+    // Stored for accounts created through Google sign-in; it never matches any password
+    public static final String NO_PASSWORD = "!";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -19,6 +24,8 @@ public class User {
     @Column(unique = true, nullable = false, length = 100)
     private String email;
 
+    // Accepted when an account is created, never written out with the user
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;
 
@@ -38,6 +45,11 @@ public class User {
     @Column(nullable = false)
     private UserRole role = UserRole.CUSTOMER;
 
+    // Bumped to invalidate every token issued before a role, email or password change
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,135 @@
+package com.strive.backend.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the statements each request runs and flags requests that exceed the query budget, either
+ * in total or by repeating one statement shape, which is how an N+1 pattern looks. Every request's
+ * count is recorded as {@code http.server.requests.statements}; violations are logged, counted as
+ * {@code http.server.requests.query.budget.exceeded} and kept on the request under
+ * {@link #VIOLATIONS_ATTRIBUTE}, where tests assert on them. The response is usually committed by the
+ * time the count is known, so a violation never changes it. A streamed response is checked on its async
+ * dispatch, once the statements of the async thread have been added.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String COUNTS_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".COUNTS";
+    public static final String VIOLATIONS_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".VIOLATIONS";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${monitoring.query-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${monitoring.query-budget.max-statements:30}")
+    private int maxStatements;
+
+    @Value("${monitoring.query-budget.max-repeats:10}")
+    private int maxRepeats;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        QueryCountingStatementInspector.Counts counts;
+        if (isAsyncDispatch(request)) {
+            counts = (QueryCountingStatementInspector.Counts) request.getAttribute(COUNTS_ATTRIBUTE);
+            if (counts == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            QueryCountingStatementInspector.resume(counts);
+        } else {
+            counts = QueryCountingStatementInspector.start();
+            request.setAttribute(COUNTS_ATTRIBUTE, counts);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountingStatementInspector.stop();
+        }
+        // The async thread and its dispatch still have statements to add
+        if (!isAsyncStarted(request)) {
+            check(request, counts);
+        }
+    }
+
+    private void check(HttpServletRequest request, QueryCountingStatementInspector.Counts counts) {
+        String uri = uriTemplate(request);
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements prepared per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(counts.getTotal());
+
+        if (counts.getTotal() > maxStatements) {
+            exceeded(request, uri, "total", counts.getTotal() + " statements, budget is " + maxStatements);
+        }
+        for (Map.Entry<String, Integer> shape : counts.getByShape().entrySet()) {
+            if (shape.getValue() > maxRepeats) {
+                exceeded(request, uri, "repeated", "statement repeated " + shape.getValue()
+                        + " times, budget is " + maxRepeats + ": " + shape.getKey());
+            }
+        }
+    }
+
+    private void exceeded(HttpServletRequest request, String uri, String reason, String detail) {
+        Counter.builder("http.server.requests.query.budget.exceeded")
+                .description("Requests that ran more statements than the query budget allows")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        String message = "Query budget exceeded for " + request.getMethod() + " " + uri + ": " + detail;
+        @SuppressWarnings("unchecked")
+        List<String> violations = (List<String>) request.getAttribute(VIOLATIONS_ATTRIBUTE);
+        if (violations == null) {
+            violations = new ArrayList<>();
+            request.setAttribute(VIOLATIONS_ATTRIBUTE, violations);
+        }
+        violations.add(message);
+        log.warn(message);
+    }
+
+    // The matched route, so meters are not tagged with ids from the path
+    private static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,72 @@
+package com.strive.backend.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a request is being tracked
+ * by {@link QueryBudgetFilter}, including the MVC async thread that writes a streamed response. Statements
+ * are grouped by shape, with IN lists collapsed, so the same query issued once per row of a result shows
+ * up as one shape with a high count. The SQL is not changed.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Statements seen during one request, by shape.
+     */
+    public static final class Counts {
+
+        private final Map<String, Integer> byShape = new HashMap<>();
+        private int total;
+
+        public int getTotal() {
+            return total;
+        }
+
+        public Map<String, Integer> getByShape() {
+            return byShape;
+        }
+
+        void add(String shape) {
+            total++;
+            byShape.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    static Counts start() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    // Counts statements on this thread into a request's existing counts, e.g. on an async thread
+    static void resume(Counts counts) {
+        CURRENT.set(counts);
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.add(shapeOf(sql));
+        }
+        return sql;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+}
@@ -0,0 +1,50 @@
+package com.strive.backend.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+@Configuration
+public class QueryMonitoringConfig {
+
+    // Statements run through JdbcTemplate bypass Hibernate and are not counted
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new QueryCountingStatementInspector());
+    }
+
+    // Streamed responses run their queries on an MVC async thread after QueryBudgetFilter has returned;
+    // this counts them into the request's totals, which the filter checks on the async dispatch
+    @Bean
+    public WebMvcConfigurer asyncQueryCountingConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+                        Object counts = request.getAttribute(QueryBudgetFilter.COUNTS_ATTRIBUTE,
+                                RequestAttributes.SCOPE_REQUEST);
+                        if (counts instanceof QueryCountingStatementInspector.Counts requestCounts) {
+                            QueryCountingStatementInspector.resume(requestCounts);
+                        }
+                    }
+
+                    @Override
+                    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object result) {
+                        QueryCountingStatementInspector.stop();
+                    }
+                });
+            }
+        };
+    }
+}
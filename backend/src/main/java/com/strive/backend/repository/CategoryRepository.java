@@ -1,18 +1,32 @@
 package com.strive.backend.repository;
 
 import com.strive.backend.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    interface CategoryName {
+        Long getId();
+        String getName();
+    }
+
     List<Category> findByParentIsNull();
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Category c LEFT JOIN FETCH c.children WHERE c.parent.id = :parentId")
     List<Category> findByParentId(Long parentId);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT c FROM Category c LEFT JOIN FETCH c.children WHERE c.parent IS NULL")
     List<Category> findAllRootCategoriesWithChildren();
+
+    @Query("SELECT c.id AS id, c.name AS name FROM Category c WHERE c.id IN :ids")
+    List<CategoryName> findNamesByIdIn(Collection<Long> ids);
 } 
\ No newline at end of file
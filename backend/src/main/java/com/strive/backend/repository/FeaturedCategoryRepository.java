@@ -1,13 +1,17 @@
 package com.strive.backend.repository;
 
 import com.strive.backend.model.FeaturedCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface FeaturedCategoryRepository extends JpaRepository<FeaturedCategory, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<FeaturedCategory> findAllByOrderByDisplayOrderAsc();
     
     @Query("SELECT MAX(fc.displayOrder) FROM FeaturedCategory fc")
@@ -17,6 +17,8 @@ public interface FinancialMetricRepository extends JpaRepository<FinancialMetric
     
     List<FinancialMetric> findByDateBetweenOrderByDateDesc(LocalDate startDate, LocalDate endDate);
     
+    List<FinancialMetric> findByDateBetweenOrderByDateAsc(LocalDate startDate, LocalDate endDate);
+    
     @Query("SELECT SUM(fm.dailyRevenue) FROM FinancialMetric fm WHERE fm.date BETWEEN ?1 AND ?2")
     BigDecimal sumRevenueByDateRange(LocalDate startDate, LocalDate endDate);
     
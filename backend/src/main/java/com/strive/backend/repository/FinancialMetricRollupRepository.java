@@ -0,0 +1,32 @@
+package com.strive.backend.repository;
+
+import com.strive.backend.model.FinancialMetricRollup;
+import com.strive.backend.model.MetricGranularity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FinancialMetricRollupRepository extends JpaRepository<FinancialMetricRollup, Long> {
+
+    List<FinancialMetricRollup> findByGranularityAndPeriodStartBetweenOrderByPeriodStartAsc(
+            MetricGranularity granularity, LocalDate startDate, LocalDate endDate);
+
+    // Atomic increment so concurrent orders in the same period never lose an update
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "financial_metric_rollups"))
+    @Modifying
+    @Query(value = "INSERT INTO financial_metric_rollups (granularity, period_start, revenue, orders_count) " +
+                   "VALUES (:granularity, :periodStart, :revenue, :ordersCount) " +
+                   "ON DUPLICATE KEY UPDATE revenue = revenue + VALUES(revenue), " +
+                   "orders_count = orders_count + VALUES(orders_count)",
+           nativeQuery = true)
+    void addToPeriod(String granularity, LocalDate periodStart, BigDecimal revenue, int ordersCount);
+}
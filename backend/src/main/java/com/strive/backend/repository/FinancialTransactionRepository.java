@@ -1,15 +1,22 @@
 package com.strive.backend.repository;
 
 import com.strive.backend.model.FinancialTransaction;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Repository
-public interface FinancialTransactionRepository extends JpaRepository<FinancialTransaction, Long> {
+public interface FinancialTransactionRepository extends JpaRepository<FinancialTransaction, Long>,
+        JpaSpecificationExecutor<FinancialTransaction> {
     
     List<FinancialTransaction> findByOrderId(Long orderId);
     
@@ -19,4 +26,43 @@ public interface FinancialTransactionRepository extends JpaRepository<FinancialT
     List<FinancialTransaction> findLatestTransactions(int limit);
     
     List<FinancialTransaction> findByTransactionType(FinancialTransaction.TransactionType type);
+    
+    
+    // Hourly order revenue; rows are [bucket_start 'yyyy-MM-dd HH:00:00', revenue, orders_count]
+    @Query(value = "SELECT DATE_FORMAT(created_at, '%Y-%m-%d %H:00:00') AS bucket_start, " +
+                   "SUM(amount) AS revenue, COUNT(*) AS orders_count " +
+                   "FROM financial_transactions " +
+                   "WHERE transaction_type = 'ORDER' AND created_at >= ?1 AND created_at < ?2 " +
+                   "GROUP BY bucket_start", nativeQuery = true)
+    List<Object[]> sumOrderRevenueByHour(LocalDateTime start, LocalDateTime end);
+    
+    /**
+     * Keyset page ordered by (created_at, id), newest first. Only the filters that are present become
+     * predicates, and the seek is a plain {@code created_at < ? OR (created_at = ? AND id < ?)}, so MySQL
+     * range-scans idx_financial_transactions_created_at_id (or the type index) from the cursor instead of
+     * reading from the newest row and filtering.
+     */
+    default List<FinancialTransaction> findPageBefore(FinancialTransaction.TransactionType type,
+                                                      Long orderId,
+                                                      LocalDateTime beforeCreatedAt,
+                                                      Long beforeId,
+                                                      int limit) {
+        Specification<FinancialTransaction> spec = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (type != null) {
+                predicates.add(cb.equal(root.get("transactionType"), type));
+            }
+            if (orderId != null) {
+                predicates.add(cb.equal(root.get("order").get("id"), orderId));
+            }
+            if (beforeCreatedAt != null) {
+                Path<LocalDateTime> createdAt = root.get("createdAt");
+                predicates.add(cb.or(
+                        cb.lessThan(createdAt, beforeCreatedAt),
+                        cb.and(cb.equal(createdAt, beforeCreatedAt), cb.lessThan(root.get("id"), beforeId))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        return findBy(spec, q -> q.sortBy(Sort.by(Sort.Direction.DESC, "createdAt", "id")).limit(limit).all());
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.strive.backend.repository;
+
+import com.strive.backend.model.MetricsBackfillJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MetricsBackfillJobRepository extends JpaRepository<MetricsBackfillJob, Long> {
+    List<MetricsBackfillJob> findByStatusInOrderByIdAsc(Collection<MetricsBackfillJob.BackfillStatus> statuses);
+
+    List<MetricsBackfillJob> findTop20ByOrderByIdDesc();
+}
@@ -0,0 +1,16 @@
+package com.strive.backend.repository;
+
+import com.strive.backend.model.MetricsBackfillJob;
+import com.strive.backend.model.MetricsBackfillPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MetricsBackfillPartitionRepository extends JpaRepository<MetricsBackfillPartition, Long> {
+    List<MetricsBackfillPartition> findByJobIdAndStatusNotOrderByPartitionStartAsc(
+            Long jobId, MetricsBackfillJob.BackfillStatus status);
+
+    long countByJobIdAndStatus(Long jobId, MetricsBackfillJob.BackfillStatus status);
+}
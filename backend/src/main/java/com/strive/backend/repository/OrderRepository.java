@@ -1,6 +1,7 @@
 package com.strive.backend.repository;
 
 import com.strive.backend.model.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +10,5 @@ import java.util.List;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
-    List<Order> findAllByOrderByIdDesc();
+    List<Order> findByIdLessThanOrderByIdDesc(Long beforeId, Pageable pageable);
 } 
\ No newline at end of file
@@ -1,14 +1,32 @@
 package com.strive.backend.repository;
 
 import com.strive.backend.model.PasswordResetToken;
-import com.strive.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Integer> {
-    Optional<PasswordResetToken> findByToken(String token);
-    void deleteByUser(User user);
-} 
\ No newline at end of file
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM password_reset_tokens t WHERE t.user.id = :userId")
+    int deleteAllByUserId(Integer userId);
+
+    /**
+     * Deletes up to {@code batchSize} expired tokens in one statement, using the expiry index.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "password_reset_tokens"))
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_tokens WHERE expiry_date < :now LIMIT :batchSize", nativeQuery = true)
+    int deleteExpiredBatch(LocalDateTime now, int batchSize);
+}
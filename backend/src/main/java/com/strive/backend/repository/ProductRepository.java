@@ -1,16 +1,54 @@
 package com.strive.backend.repository;
 
 import com.strive.backend.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Integer> {
+    interface ProductSummary {
+        Integer getId();
+        String getName();
+        Integer getCategoryId();
+    }
+
+    interface ProductTagFields {
+        Integer getId();
+        Long getVersion();
+        LocalDateTime getUpdatedAt();
+        String getCategoryName();
+        Integer getFeaturedDisplayOrder();
+    }
+
     List<Product> findAllByFeaturedProductIsNotNullOrderByFeaturedProductDisplayOrderAsc();
 
+    List<Product> findByIdGreaterThanOrderByIdAsc(Integer afterId, Pageable pageable);
+
     @Query("SELECT MAX(fp.displayOrder) FROM Product p JOIN p.featuredProduct fp")
     Optional<Integer> findMaxFeaturedProductDisplayOrder();
+
+    // Scalar projection so callers that only need names never load images or the featured association
+    @Query("SELECT p.id AS id, p.name AS name, p.categoryId AS categoryId FROM Product p WHERE p.id IN :ids")
+    List<ProductSummary> findSummariesByIdIn(Collection<Integer> ids);
+
+    // The fields of a product and its child rows its entity tag is built from; none of them loads image bytes
+    @Query("SELECT p.id AS id, p.version AS version, p.updatedAt AS updatedAt, c.name AS categoryName, " +
+            "fp.displayOrder AS featuredDisplayOrder " +
+            "FROM Product p LEFT JOIN p.category c LEFT JOIN p.featuredProduct fp WHERE p.id = :id")
+    Optional<ProductTagFields> findTagFieldsById(Integer id);
+
+    @Query("SELECT i.id, i.imageType, i.displayOrder FROM ProductImage i WHERE i.product.id = :productId ORDER BY i.id")
+    List<Object[]> findImageTagFields(Integer productId);
+
+    @Query("SELECT s.id, s.version FROM Stock s WHERE s.product.id = :productId ORDER BY s.id")
+    List<Object[]> findStockTagFields(Integer productId);
+
+    @Query("SELECT r.id, r.rating FROM Review r WHERE r.productId = :productId ORDER BY r.id")
+    List<Object[]> findReviewTagFields(Integer productId);
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.strive.backend.repository;
+
+import com.strive.backend.model.ProductSalesDaily;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProductSalesDailyRepository extends JpaRepository<ProductSalesDaily, Long> {
+
+    interface ProductSalesTotal {
+        Integer getProductId();
+        Long getUnitsSold();
+        BigDecimal getRevenue();
+    }
+
+    interface CategorySalesTotal {
+        Long getCategoryId();
+        Long getUnitsSold();
+        BigDecimal getRevenue();
+    }
+
+    interface SizeSalesTotal {
+        String getSize();
+        Long getUnitsSold();
+        BigDecimal getRevenue();
+    }
+
+    // Runs for every order line; without the table as its query space Hibernate would clear every cache region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_sales_daily"))
+    @Modifying
+    @Query(value = "INSERT INTO product_sales_daily (sale_date, product_id, size, category_id, units_sold, revenue, order_lines) " +
+                   "VALUES (:saleDate, :productId, :size, :categoryId, :unitsSold, :revenue, 1) " +
+                   "ON DUPLICATE KEY UPDATE units_sold = units_sold + VALUES(units_sold), " +
+                   "revenue = revenue + VALUES(revenue), order_lines = order_lines + 1",
+           nativeQuery = true)
+    void addSale(LocalDate saleDate, Integer productId, String size, Long categoryId, int unitsSold, BigDecimal revenue);
+
+    @Query("SELECT ps.productId AS productId, SUM(ps.unitsSold) AS unitsSold, SUM(ps.revenue) AS revenue " +
+           "FROM ProductSalesDaily ps WHERE ps.saleDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY ps.productId ORDER BY SUM(ps.revenue) DESC")
+    List<ProductSalesTotal> findTopProductsByRevenue(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    @Query("SELECT ps.productId AS productId, SUM(ps.unitsSold) AS unitsSold, SUM(ps.revenue) AS revenue " +
+           "FROM ProductSalesDaily ps WHERE ps.saleDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY ps.productId ORDER BY SUM(ps.unitsSold) DESC")
+    List<ProductSalesTotal> findTopProductsByUnits(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    @Query("SELECT ps.categoryId AS categoryId, SUM(ps.unitsSold) AS unitsSold, SUM(ps.revenue) AS revenue " +
+           "FROM ProductSalesDaily ps WHERE ps.saleDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY ps.categoryId ORDER BY SUM(ps.revenue) DESC")
+    List<CategorySalesTotal> sumByCategory(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT ps.size AS size, SUM(ps.unitsSold) AS unitsSold, SUM(ps.revenue) AS revenue " +
+           "FROM ProductSalesDaily ps WHERE ps.productId = :productId AND ps.saleDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY ps.size ORDER BY SUM(ps.unitsSold) DESC")
+    List<SizeSalesTotal> sumBySizeForProduct(Integer productId, LocalDate startDate, LocalDate endDate);
+}
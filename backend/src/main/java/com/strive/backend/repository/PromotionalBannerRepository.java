@@ -1,7 +1,10 @@
 package com.strive.backend.repository;
 
 import com.strive.backend.model.PromotionalBanner;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,8 +12,10 @@ import java.util.List;
 @Repository
 public interface PromotionalBannerRepository extends JpaRepository<PromotionalBanner, Integer> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<PromotionalBanner> findAllByOrderByDisplayOrderAsc();
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<PromotionalBanner> findByActiveIsTrueOrderByDisplayOrderAsc();
     
     PromotionalBanner findByDisplayOrder(Integer displayOrder);
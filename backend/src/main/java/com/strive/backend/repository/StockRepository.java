@@ -0,0 +1,22 @@
+package com.strive.backend.repository;
+
+import com.strive.backend.model.Stock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockRepository extends JpaRepository<Stock, Integer> {
+
+    interface ProductStockTotal {
+        Integer getProductId();
+        Long getQuantity();
+    }
+
+    @Query("SELECT s.product.id AS productId, SUM(s.quantity) AS quantity FROM Stock s " +
+           "WHERE s.product.id IN :productIds GROUP BY s.product.id")
+    List<ProductStockTotal> sumQuantityByProductIds(Collection<Integer> productIds);
+}
@@ -2,13 +2,29 @@ package com.strive.backend.repository;
 
 import com.strive.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
     User findByEmail(String email);
     List<User> findByRoleIn(Collection<User.UserRole> roles);
+
+    @Query("SELECT u.tokenVersion FROM Users u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(Integer id);
+
+    /**
+     * Replaces the password hash only while it is still {@code oldHash}, so a password changed in the
+     * meantime is not overwritten, and touches no other column.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Users u SET u.password = :hash WHERE u.id = :id AND u.password = :oldHash")
+    int replacePasswordHash(Integer id, String oldHash, String hash);
 }
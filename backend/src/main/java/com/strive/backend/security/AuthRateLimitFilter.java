@@ -0,0 +1,209 @@
+package com.strive.backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throttles login and password reset requests per client IP and per email before they reach
+ * {@code AuthController}, so credential stuffing cannot keep the password hashing pool busy and reset
+ * requests cannot be used to send unlimited email. Rejected requests get a 429 with Retry-After.
+ */
+@Slf4j
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final String FORGOT_PASSWORD_PATH = "/api/auth/forgot-password";
+    // Far more than any login or reset body; larger ones are refused rather than buffered
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${security.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.rate-limit.login.ip-capacity:20}")
+    private int loginIpCapacity;
+
+    @Value("${security.rate-limit.login.ip-refill-per-minute:10}")
+    private double loginIpRefillPerMinute;
+
+    @Value("${security.rate-limit.login.email-capacity:5}")
+    private int loginEmailCapacity;
+
+    @Value("${security.rate-limit.login.email-refill-per-minute:1}")
+    private double loginEmailRefillPerMinute;
+
+    @Value("${security.rate-limit.forgot-password.ip-capacity:5}")
+    private int resetIpCapacity;
+
+    @Value("${security.rate-limit.forgot-password.ip-refill-per-minute:1}")
+    private double resetIpRefillPerMinute;
+
+    @Value("${security.rate-limit.forgot-password.email-capacity:3}")
+    private int resetEmailCapacity;
+
+    @Value("${security.rate-limit.forgot-password.email-refill-per-minute:0.05}") // 3 per hour
+    private double resetEmailRefillPerMinute;
+
+    private Map<String, Limits> limitsByPath;
+
+    private record Limits(String prefix, AuthRateLimiter.Limit perIp, AuthRateLimiter.Limit perEmail) {
+    }
+
+    @PostConstruct
+    void init() {
+        limitsByPath = Map.of(
+                LOGIN_PATH, new Limits("login",
+                        new AuthRateLimiter.Limit(loginIpCapacity, loginIpRefillPerMinute),
+                        new AuthRateLimiter.Limit(loginEmailCapacity, loginEmailRefillPerMinute)),
+                FORGOT_PASSWORD_PATH, new Limits("reset",
+                        new AuthRateLimiter.Limit(resetIpCapacity, resetIpRefillPerMinute),
+                        new AuthRateLimiter.Limit(resetEmailCapacity, resetEmailRefillPerMinute)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || !limitsByPath.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Limits limits = limitsByPath.get(request.getServletPath());
+
+        // The client address as seen by the container; behind a proxy, enable
+        // server.forward-headers-strategy so this is the forwarded address
+        long retryAfter = authRateLimiter.tryAcquire(
+                limits.prefix() + ":ip:" + request.getRemoteAddr(), limits.perIp());
+        if (retryAfter > 0) {
+            reject(response, retryAfter);
+            return;
+        }
+
+        // The body has to be read to find the email, so keep it for the controller
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        if (cachedRequest.body.length > MAX_BODY_BYTES) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        String email = readEmail(cachedRequest.body);
+        if (email != null) {
+            retryAfter = authRateLimiter.tryAcquire(limits.prefix() + ":email:" + email, limits.perEmail());
+            if (retryAfter > 0) {
+                // A hash prefix to correlate repeats; the address itself is attacker-chosen and personal data
+                log.debug("Rate limited {} attempts for email hash {}", limits.prefix(),
+                        TokenHashing.sha256Hex(email).substring(0, 12));
+                reject(response, retryAfter);
+                return;
+            }
+        }
+
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    private String readEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            if (email == null || !email.isTextual() || email.asText().isBlank()) {
+                return null;
+            }
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller; the IP limit still applies
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Too many attempts, please try again later");
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The body is already in memory, so all of it is available at once
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.strive.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for the unauthenticated auth endpoints, keyed by client IP or email. Buckets live in a
+ * bounded in-memory cache; one is dropped once it has had time to refill completely, since it then
+ * behaves exactly like a new one. When the cache is full the least used buckets are evicted, so a flood
+ * of new keys costs them their history but never locks anyone else out. With {@code security.rate-limit.shared-window.enabled} each attempt is also counted
+ * in the {@code auth_rate_limits} table, so the limit holds across instances as a sliding window.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final long WINDOW_SECONDS = 60;
+    private static final long SHARED_CLEANUP_INTERVAL_MILLIS = WINDOW_SECONDS * 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${security.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${security.rate-limit.shared-window.enabled:false}")
+    private boolean sharedWindowEnabled;
+
+    private Cache<String, TokenBucket> buckets;
+    private final AtomicLong lastSharedCleanup = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfter(new RefillExpiry())
+                .build();
+    }
+
+    /**
+     * Allowed burst and sustained rate for one kind of key.
+     */
+    public record Limit(int capacity, double refillPerMinute) {
+    }
+
+    /**
+     * Takes one token for the key, which keeps the limit it was first seen with. Returns 0 when the
+     * attempt is allowed, otherwise the number of seconds until it would be.
+     */
+    public long tryAcquire(String key, Limit limit) {
+        return tryAcquire(key, limit, System.nanoTime(), System.currentTimeMillis());
+    }
+
+    // Monotonic time for the buckets, wall-clock time for the shared windows
+    long tryAcquire(String key, Limit limit, long nowNanos, long nowMillis) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(limit, nowNanos));
+        long retryAfter = bucket.tryConsume(nowNanos);
+        if (retryAfter > 0 || !sharedWindowEnabled) {
+            return retryAfter;
+        }
+        return tryAcquireShared(key, limit, nowMillis);
+    }
+
+    // After pending evictions; for the tests
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * Sliding window counter: the previous window's hits are weighted by how much of it still overlaps
+     * the last {@value #WINDOW_SECONDS} seconds. The bucket allows its burst plus one minute of refill
+     * in any such span, so the window uses the same allowance.
+     */
+    private long tryAcquireShared(String key, Limit limit, long nowMillis) {
+        long nowSeconds = nowMillis / 1000;
+        long currentWindow = nowSeconds / WINDOW_SECONDS * WINDOW_SECONDS;
+        long previousWindow = currentWindow - WINDOW_SECONDS;
+        // Keys contain emails and IPs, which are not stored in plain text
+        String keyHash = TokenHashing.sha256Hex(key);
+
+        jdbcTemplate.update("""
+                INSERT INTO auth_rate_limits (limiter_key, window_start, hits)
+                VALUES (?, ?, 1)
+                ON DUPLICATE KEY UPDATE hits = hits + 1
+                """, keyHash, currentWindow);
+
+        long currentHits = 0;
+        long previousHits = 0;
+        for (var row : jdbcTemplate.queryForList(
+                "SELECT window_start, hits FROM auth_rate_limits WHERE limiter_key = ? AND window_start >= ?",
+                keyHash, previousWindow)) {
+            long windowStart = ((Number) row.get("window_start")).longValue();
+            long hits = ((Number) row.get("hits")).longValue();
+            if (windowStart == currentWindow) {
+                currentHits = hits;
+            } else {
+                previousHits = hits;
+            }
+        }
+
+        cleanUpSharedWindows(previousWindow, nowMillis);
+
+        double overlap = 1.0 - (double) (nowSeconds - currentWindow) / WINDOW_SECONDS;
+        double estimated = previousHits * overlap + currentHits;
+        double allowance = limit.capacity() + limit.refillPerMinute() * WINDOW_SECONDS / 60.0;
+        if (estimated <= allowance) {
+            return 0;
+        }
+        return Math.max(1, currentWindow + WINDOW_SECONDS - nowSeconds);
+    }
+
+    private void cleanUpSharedWindows(long oldestKeptWindow, long nowMillis) {
+        long last = lastSharedCleanup.get();
+        if (nowMillis - last >= SHARED_CLEANUP_INTERVAL_MILLIS && lastSharedCleanup.compareAndSet(last, nowMillis)) {
+            jdbcTemplate.update("DELETE FROM auth_rate_limits WHERE window_start < ?", oldestKeptWindow);
+        }
+    }
+
+    // Every read or write pushes expiry back to when the bucket would be full again
+    private static final class RefillExpiry implements Expiry<String, TokenBucket> {
+
+        @Override
+        public long expireAfterCreate(String key, TokenBucket bucket, long currentTime) {
+            return bucket.nanosToRefill();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenBucket bucket, long currentTime, long currentDuration) {
+            return bucket.nanosToRefill();
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenBucket bucket, long currentTime, long currentDuration) {
+            return bucket.nanosToRefill();
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final Limit limit;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(Limit limit, long nowNanos) {
+            this.limit = limit;
+            this.tokens = limit.capacity();
+            this.lastRefillNanos = nowNanos;
+        }
+
+        synchronized long tryConsume(long nowNanos) {
+            refill(nowNanos);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            double secondsPerToken = 60.0 / limit.refillPerMinute();
+            return Math.max(1, (long) Math.ceil((1 - tokens) * secondsPerToken));
+        }
+
+        // Long enough for an empty bucket to fill up, however many tokens it has left
+        long nanosToRefill() {
+            if (limit.refillPerMinute() <= 0) {
+                return Long.MAX_VALUE;
+            }
+            return (long) Math.ceil(limit.capacity() / limit.refillPerMinute() * 60_000_000_000.0);
+        }
+
+        private void refill(long nowNanos) {
+            if (nowNanos <= lastRefillNanos) {
+                return;
+            }
+            double elapsedMinutes = (nowNanos - lastRefillNanos) / 60_000_000_000.0;
+            tokens = Math.min(limit.capacity(), tokens + elapsedMinutes * limit.refillPerMinute());
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.strive.backend.security;
+
+import java.time.Instant;
+
+/**
+ * The claims of a verified access token, parsed once and safe to share between threads.
+ */
+public record JwtClaims(Integer userId, String email, String role, int version, Instant issuedAt,
+                        Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
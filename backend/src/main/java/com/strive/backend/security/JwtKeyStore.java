@@ -0,0 +1,214 @@
+package com.strive.backend.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signing and verification keys for JWTs. With {@code jwt.keystore.path} set, tokens are signed with
+ * the EC key under {@code jwt.keystore.active-alias} and carry that alias as {@code kid}. Every EC
+ * entry in the keystore, private or certificate-only, is a verification key, so a key can be rotated
+ * by adding a new alias, switching the active alias and removing the old one once its tokens expire.
+ * Without a keystore the shared {@code jwt.secret} is used with HS256 as before. Once a keystore is
+ * active, kid-less HS256 tokens are refused unless {@code jwt.keystore.accept-legacy-hmac-until} is set,
+ * and then only until that instant, which may be at most the old 24 hour token lifetime after startup.
+ */
+@Slf4j
+@Component
+public class JwtKeyStore {
+
+    @Value("${jwt.secret:striveSecretKey123456789012345678901234567890}")
+    private String secret;
+
+    @Value("${jwt.keystore.path:}")
+    private String keystorePath;
+
+    @Value("${jwt.keystore.password:}")
+    private String keystorePassword;
+
+    @Value("${jwt.keystore.type:PKCS12}")
+    private String keystoreType;
+
+    @Value("${jwt.keystore.active-alias:}")
+    private String activeAlias;
+
+    // Lifetime of the HS256 tokens issued before the keystore; no legacy token can outlive it
+    private static final Duration LEGACY_TOKEN_LIFETIME = Duration.ofHours(24);
+
+    // Accept HS256 tokens without a kid, issued before the switch, until this instant; empty refuses them
+    @Value("${jwt.keystore.accept-legacy-hmac-until:}")
+    private String acceptLegacyHmacUntil;
+
+    private Instant legacyHmacCutoff;
+
+    private Clock clock = Clock.systemUTC();
+
+    private Key hmacKey;
+    private Key signingKey;
+    private SignatureAlgorithm signingAlgorithm;
+    private String activeKeyId;
+    private Map<String, PublicKey> verificationKeys = Collections.emptyMap();
+
+    @PostConstruct
+    void load() throws GeneralSecurityException, IOException {
+        hmacKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        if (keystorePath == null || keystorePath.isBlank()) {
+            signingKey = hmacKey;
+            signingAlgorithm = SignatureAlgorithm.HS256;
+            activeKeyId = null;
+            return;
+        }
+
+        char[] password = keystorePassword.toCharArray();
+        KeyStore keyStore = KeyStore.getInstance(keystoreType);
+        try (InputStream in = Files.newInputStream(Path.of(keystorePath))) {
+            keyStore.load(in, password);
+        }
+
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            Certificate certificate = keyStore.getCertificate(alias);
+            if (certificate != null && certificate.getPublicKey() instanceof ECPublicKey) {
+                keys.put(alias, certificate.getPublicKey());
+            }
+        }
+
+        if (activeAlias == null || activeAlias.isBlank()) {
+            throw new IllegalStateException("jwt.keystore.active-alias must be set when jwt.keystore.path is");
+        }
+        Key key = keyStore.getKey(activeAlias, password);
+        if (!(key instanceof ECPrivateKey)) {
+            throw new IllegalStateException("Keystore entry '" + activeAlias + "' is not an EC private key");
+        }
+
+        legacyHmacCutoff = parseLegacyHmacCutoff();
+
+        signingKey = key;
+        // ES256, ES384 or ES512 depending on the curve of the active key
+        signingAlgorithm = SignatureAlgorithm.forSigningKey(key);
+        activeKeyId = activeAlias;
+        verificationKeys = Map.copyOf(keys);
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    public SignatureAlgorithm getSigningAlgorithm() {
+        return signingAlgorithm;
+    }
+
+    /**
+     * The {@code kid} to put in new tokens, or null when signing with the shared secret.
+     */
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Picks the key for a token from its header with one map lookup. Tokens without a {@code kid}
+     * are HS256 tokens and only accepted while no keystore is configured or before the legacy cutoff.
+     */
+    public Key resolveVerificationKey(JwsHeader<?> header) {
+        Key key = resolveVerificationKey(header.getKeyId());
+        if (header.getKeyId() == null && activeKeyId != null) {
+            log.warn("Accepting a legacy HS256 token without a key id; legacy tokens are refused after {}",
+                    legacyHmacCutoff);
+        }
+        return key;
+    }
+
+    /**
+     * The key for a {@code kid}, where null stands for a legacy HS256 token. Also called for tokens
+     * verified earlier, so a removed key or a passed legacy cutoff refuses them from then on.
+     */
+    public Key resolveVerificationKey(String keyId) {
+        if (keyId == null) {
+            if (activeKeyId == null) {
+                return hmacKey;
+            }
+            if (legacyHmacCutoff != null && Instant.now(clock).isBefore(legacyHmacCutoff)) {
+                return hmacKey;
+            }
+            throw new SignatureException("JWT has no key id");
+        }
+        PublicKey key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    private Instant parseLegacyHmacCutoff() {
+        if (acceptLegacyHmacUntil == null || acceptLegacyHmacUntil.isBlank()) {
+            return null;
+        }
+        Instant cutoff = Instant.parse(acceptLegacyHmacUntil.strip());
+        if (cutoff.isAfter(Instant.now(clock).plus(LEGACY_TOKEN_LIFETIME))) {
+            throw new IllegalStateException("jwt.keystore.accept-legacy-hmac-until must be at most "
+                    + LEGACY_TOKEN_LIFETIME.toHours() + " hours from now, the lifetime of the tokens it covers");
+        }
+        return cutoff;
+    }
+
+    /**
+     * The public verification keys as a JWK set, so other services can verify tokens without the secret.
+     */
+    public Map<String, Object> getJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        verificationKeys.forEach((keyId, key) -> keys.add(toJwk(keyId, (ECPublicKey) key)));
+        return Map.of("keys", keys);
+    }
+
+    private static Map<String, Object> toJwk(String keyId, ECPublicKey key) {
+        int fieldSize = key.getParams().getCurve().getField().getFieldSize();
+        int length = (fieldSize + 7) / 8;
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", fieldSize == 521 ? "P-521" : "P-" + fieldSize);
+        jwk.put("kid", keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", fieldSize == 521 ? "ES512" : "ES" + fieldSize);
+        jwk.put("x", base64Url(key.getW().getAffineX(), length));
+        jwk.put("y", base64Url(key.getW().getAffineY(), length));
+        return jwk;
+    }
+
+    private static String base64Url(BigInteger value, int length) {
+        // Fixed-length unsigned big-endian encoding as required by RFC 7518
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, padded, length - copy, copy);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+}
@@ -2,78 +2,167 @@ package com.strive.backend.security;
 
 import com.strive.backend.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:striveSecretKey123456789012345678901234567890}")
-    private String secret;
+    @Autowired
+    private JwtKeyStore jwtKeyStore;
     
-    @Value("${jwt.expiration:86400}") // 24 hours in seconds
+    @Value("${jwt.expiration:300}") // 5 minutes in seconds
     private Long expiration;
     
+    @Value("${jwt.verified-cache.max-entries:10000}") // 0 disables the cache
+    private int verifiedCacheMaxEntries;
+    
+    // Built once and thread-safe; the key for each token is picked by its kid header
+    private JwtParser parser;
+    
+    // Recently verified tokens keyed by SHA-256 of the token, so raw tokens are not retained
+    private final ConcurrentHashMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    // The kid is kept so every cache hit is checked against the keys accepted now
+    private record VerifiedToken(String keyId, JwtClaims claims) {
+    }
+    
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+    
+    @PostConstruct
+    void init() {
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return jwtKeyStore.resolveVerificationKey(header);
+                    }
+                })
+                .build();
+    }
+    
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("id", user.getId());
         claims.put("email", user.getEmail());
         claims.put("role", user.getRole().toString());
+        claims.put("ver", user.getTokenVersion());
         return createToken(claims, user.getEmail());
     }
     
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (jwtKeyStore.getActiveKeyId() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, jwtKeyStore.getActiveKeyId());
+        }
+        return builder
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration * 1000))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(jwtKeyStore.getSigningKey(), jwtKeyStore.getSigningAlgorithm())
                 .compact();
     }
     
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Verifies the signature and expiry and returns the parsed claims. Each distinct token is parsed
+     * at most once while it stays in the verified cache; a cached entry is only reused until it expires,
+     * and only while its key is still accepted, so a retired key id or a passed legacy HS256 cutoff
+     * refuses tokens that were verified before. Throws a JwtException when the token is invalid or expired.
+     */
+    public JwtClaims verify(String token) {
+        Instant now = Instant.now();
+        String key = verifiedCacheMaxEntries > 0 ? hash(token) : null;
+        VerifiedToken cached = key != null ? verifiedTokens.get(key) : null;
+        if (cached != null) {
+            if (cached.claims().isExpired(now)) {
+                verifiedTokens.remove(key);
+                throw new ExpiredJwtException(null, null, "JWT expired at " + cached.claims().expiresAt());
+            }
+            try {
+                jwtKeyStore.resolveVerificationKey(cached.keyId());
+            } catch (JwtException e) {
+                verifiedTokens.remove(key);
+                throw e;
+            }
+            return cached.claims();
+        }
+        
+        Jws<Claims> jws = parser.parseClaimsJws(token);
+        JwtClaims claims = toJwtClaims(jws.getBody());
+        if (key != null) {
+            if (verifiedTokens.size() >= verifiedCacheMaxEntries) {
+                verifiedTokens.values().removeIf(entry -> entry.claims().isExpired(now));
+                if (verifiedTokens.size() >= verifiedCacheMaxEntries) {
+                    verifiedTokens.clear();
+                }
+            }
+            verifiedTokens.put(key, new VerifiedToken(jws.getHeader().getKeyId(), claims));
+        }
+        return claims;
+    }
+    
+    public long getExpirationSeconds() {
+        return expiration;
     }
     
     public Boolean validateToken(String token, String email) {
-        final String username = extractUsername(token);
-        return (username.equals(email) && !isTokenExpired(token));
+        return verify(token).email().equals(email);
     }
     
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).email();
     }
     
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-    
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return Date.from(verify(token).expiresAt());
     }
     
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static JwtClaims toJwtClaims(Claims claims) {
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("JWT has no expiration");
+        }
+        Integer version = claims.get("ver", Integer.class);
+        return new JwtClaims(
+                claims.get("id", Integer.class),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                // Tokens issued before versioning carry no "ver" claim and match the initial version
+                version != null ? version : 0,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant());
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package com.strive.backend.security;
+
+import com.strive.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the current token version per user so JWT requests can be checked for revocation without
+ * loading the user. Entries are reloaded after a short TTL, which bounds how long another instance
+ * keeps accepting a revoked token; on this instance {@link #evict} takes effect immediately.
+ */
+@Component
+public class TokenVersionCache {
+
+    private static final int MISSING_USER = -1;
+    private static final int MAX_ENTRIES = 10_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.version-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    public boolean isCurrent(Integer userId, int tokenVersion) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry == null || now - entry.loadedAt() > ttlSeconds * 1000) {
+            entry = new Entry(userRepository.findTokenVersionById(userId).orElse(MISSING_USER), now);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            entries.put(userId, entry);
+        }
+        return entry.version() != MISSING_USER && entry.version() == tokenVersion;
+    }
+
+    /**
+     * Drops the cached version once the surrounding transaction commits, or right away outside one,
+     * so a concurrent request cannot re-cache the old version before the change is visible.
+     */
+    public void evict(Integer userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(userId);
+                }
+            });
+        } else {
+            entries.remove(userId);
+        }
+    }
+
+    private record Entry(int version, long loadedAt) {
+    }
+}
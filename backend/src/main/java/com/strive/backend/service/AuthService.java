@@ -9,16 +9,22 @@ import com.strive.backend.dto.PasswordResetConfirmDTO;
 import com.strive.backend.model.User;
 import com.strive.backend.model.NotificationPreferences;
 import com.strive.backend.model.PasswordResetToken;
+import com.strive.backend.event.UserChangedEvent;
+import com.strive.backend.exception.TooManyRequestsException;
 import com.strive.backend.security.JwtUtil;
+import com.strive.backend.security.PasswordHashingService;
+import com.strive.backend.security.TokenHashing;
+import com.strive.backend.security.TokenVersionCache;
 import com.strive.backend.repository.UserRepository;
 import com.strive.backend.repository.NotificationPreferencesRepository;
 import com.strive.backend.repository.PasswordResetTokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,7 +38,13 @@ public class AuthService {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @Autowired
     private JwtUtil jwtUtil;
@@ -46,6 +58,12 @@ public class AuthService {
     @Autowired
     private PasswordResetTokenRepository passwordResetTokenRepository;
     
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+    
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
     // Token expiration time in minutes
     private static final int RESET_TOKEN_EXPIRATION_MINUTES = 30;
     
@@ -56,12 +74,50 @@ public class AuthService {
             throw new UsernameNotFoundException("User not found with email: " + loginRequest.getEmail());
         }
         
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        // Accounts without a password are rejected before spending any time on hashing
+        if (User.NO_PASSWORD.equals(user.getPassword())
+                || !passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())) {
             throw new BadCredentialsException("Invalid credentials");
         }
         
-        String token = jwtUtil.generateToken(user);
+        rehashIfNeeded(user, loginRequest.getPassword());
         
+        return buildLoginResponse(user, refreshTokenService.issue(user));
+    }
+    
+    /**
+     * Trades a refresh token for a new access token and a rotated refresh token.
+     */
+    public LoginResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        return buildLoginResponse(rotation.user(), rotation.refreshToken());
+    }
+    
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
+    
+    /**
+     * Re-hashes a verified password when the stored hash uses an older algorithm or cost. Only the hash
+     * is written, and only if it is still the one just verified. Skipped when the hashing pool is busy;
+     * the next login will try again.
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        String oldHash = user.getPassword();
+        if (!passwordHashingService.needsRehash(oldHash)) {
+            return;
+        }
+        try {
+            String hash = passwordHashingService.encode(rawPassword);
+            if (userRepository.replacePasswordHash(user.getId(), oldHash, hash) > 0) {
+                eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+            }
+        } catch (TooManyRequestsException e) {
+            log.debug("Skipped password rehash for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+    
+    private LoginResponse buildLoginResponse(User user, String refreshToken) {
         LoginResponse response = new LoginResponse();
         response.setUserId(user.getId());
         response.setEmail(user.getEmail());
@@ -70,37 +126,44 @@ public class AuthService {
         response.setPhone(user.getPhone());
         response.setCountryCode(user.getCountryCode());
         response.setRole(user.getRole().name());
-        response.setToken(token);
+        response.setToken(jwtUtil.generateToken(user));
+        response.setRefreshToken(refreshToken);
+        response.setExpiresIn(jwtUtil.getExpirationSeconds());
         
         return response;
     }
     
-    @Transactional
     public User register(RegisterRequest registerRequest) {
         // Check if email already exists
         if (userRepository.findByEmail(registerRequest.getEmail()) != null) {
             throw new RuntimeException("Email is already in use");
         }
         
-        User user = new User();
-        user.setEmail(registerRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
-        user.setFirstName(registerRequest.getFirstName());
-        user.setLastName(registerRequest.getLastName());
-        user.setPhone(registerRequest.getPhone());
-        // Role is automatically set to CUSTOMER because of the default value in the User entity
+        // Hash before opening the transaction so no connection is held while hashing
+        String encodedPassword = passwordHashingService.encode(registerRequest.getPassword());
         
-        User savedUser = userRepository.save(user);
+        User savedUser = transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setEmail(registerRequest.getEmail());
+            user.setPassword(encodedPassword);
+            user.setFirstName(registerRequest.getFirstName());
+            user.setLastName(registerRequest.getLastName());
+            user.setPhone(registerRequest.getPhone());
+            // Role is automatically set to CUSTOMER because of the default value in the User entity
+            
+            User created = userRepository.save(user);
 
-        // Create default notification preferences for the new user
-        NotificationPreferences defaultPreferences = new NotificationPreferences();
-        defaultPreferences.setUserId(savedUser.getId());
-        defaultPreferences.setEmailNotifications(true);
-        defaultPreferences.setOrderUpdates(true);
-        defaultPreferences.setPromotions(false);
-        defaultPreferences.setNewsletter(true);
-        
-        notificationPreferencesRepository.save(defaultPreferences);
+            // Create default notification preferences for the new user
+            NotificationPreferences defaultPreferences = new NotificationPreferences();
+            defaultPreferences.setUserId(created.getId());
+            defaultPreferences.setEmailNotifications(true);
+            defaultPreferences.setOrderUpdates(true);
+            defaultPreferences.setPromotions(false);
+            defaultPreferences.setNewsletter(true);
+            
+            notificationPreferencesRepository.save(defaultPreferences);
+            return created;
+        });
         
         // Send welcome email to the new user
         try {
@@ -121,8 +184,8 @@ public class AuthService {
         if (user == null) {
             user = new User();
             user.setEmail(googleLoginRequest.getEmail());
-            // Generate a random password as user won't need it for Google login
-            user.setPassword(passwordEncoder.encode(UUID.randomUUID().toString()));
+            // Google users sign in without a password, so there is nothing worth hashing
+            user.setPassword(User.NO_PASSWORD);
             user.setFirstName(googleLoginRequest.getFirstName());
             user.setLastName(googleLoginRequest.getLastName());
             // Role is automatically set to CUSTOMER because of the default value in the User entity
@@ -148,21 +211,8 @@ public class AuthService {
             }
         }
         
-        // Generate JWT token
-        String token = jwtUtil.generateToken(user);
-        
-        // Create and return login response
-        LoginResponse response = new LoginResponse();
-        response.setUserId(user.getId());
-        response.setEmail(user.getEmail());
-        response.setFirstName(user.getFirstName());
-        response.setLastName(user.getLastName());
-        response.setPhone(user.getPhone());
-        response.setCountryCode(user.getCountryCode());
-        response.setRole(user.getRole().name());
-        response.setToken(token);
-        
-        return response;
+        // Generate the access token and start a refresh token family
+        return buildLoginResponse(user, refreshTokenService.issue(user));
     }
     
     @Transactional
@@ -177,13 +227,13 @@ public class AuthService {
         }
         
         // Delete any existing tokens for the user
-        passwordResetTokenRepository.deleteByUser(user);
+        passwordResetTokenRepository.deleteAllByUserId(user.getId());
         
-        // Create a new reset token
+        // Create a new reset token; only its hash is stored
         String token = UUID.randomUUID().toString();
         LocalDateTime expiryDate = LocalDateTime.now().plusMinutes(RESET_TOKEN_EXPIRATION_MINUTES);
         
-        PasswordResetToken resetToken = new PasswordResetToken(token, user, expiryDate);
+        PasswordResetToken resetToken = new PasswordResetToken(TokenHashing.sha256Hex(token), user, expiryDate);
         passwordResetTokenRepository.save(resetToken);
         
         // Send password reset email
@@ -196,9 +246,9 @@ public class AuthService {
         }
     }
     
-    @Transactional
     public void confirmPasswordReset(PasswordResetConfirmDTO confirmDTO) {
-        Optional<PasswordResetToken> tokenOptional = passwordResetTokenRepository.findByToken(confirmDTO.getToken());
+        String tokenHash = TokenHashing.sha256Hex(confirmDTO.getToken());
+        Optional<PasswordResetToken> tokenOptional = passwordResetTokenRepository.findByTokenHash(tokenHash);
         
         if (!tokenOptional.isPresent()) {
             throw new RuntimeException("Invalid or expired password reset token");
@@ -208,17 +258,31 @@ public class AuthService {
         
         // Check if the token has expired
         if (resetToken.isExpired()) {
-            passwordResetTokenRepository.delete(resetToken);
+            transactionTemplate.executeWithoutResult(status -> passwordResetTokenRepository.delete(resetToken));
             throw new RuntimeException("Password reset token has expired");
         }
         
-        // Update the user's password
-        User user = resetToken.getUser();
-        user.setPassword(passwordEncoder.encode(confirmDTO.getNewPassword()));
-        userRepository.save(user);
+        // Hash before opening the transaction so no connection is held while hashing
+        String encodedPassword = passwordHashingService.encode(confirmDTO.getNewPassword());
         
-        // Delete the used token
-        passwordResetTokenRepository.delete(resetToken);
+        User user = transactionTemplate.execute(status -> {
+            // Read the token again in case another request used it while the password was hashed
+            PasswordResetToken currentToken = passwordResetTokenRepository.findByTokenHash(tokenHash)
+                    .orElseThrow(() -> new RuntimeException("Invalid or expired password reset token"));
+            
+            // Update the user's password
+            User resetUser = currentToken.getUser();
+            resetUser.setPassword(encodedPassword);
+            resetUser.setTokenVersion(resetUser.getTokenVersion() + 1);
+            userRepository.save(resetUser);
+            refreshTokenService.revokeAllForUser(resetUser.getId());
+            
+            // Delete the used token
+            passwordResetTokenRepository.delete(currentToken);
+            return resetUser;
+        });
+        tokenVersionCache.evict(user.getId());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         
         log.info("Password reset successful for user: {}", user.getEmail());
     }
@@ -0,0 +1,48 @@
+package com.strive.backend.service;
+
+import com.strive.backend.event.CatalogChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops second-level cache entries after admin writes to the catalogue. Hibernate already updates an
+ * entity's own entry when it is written, but not the cached collections on the other side of a
+ * relationship, e.g. a parent's children after a subcategory is created; so the entity and every
+ * cached collection it owns are evicted, for one row or for the whole type.
+ */
+@Component
+public class CatalogCacheEvictor {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Ahead of other listeners, so anything rebuilt from the catalogue after a change reads fresh rows
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Cache cache = sessionFactory.getCache();
+        if (event.id() == null) {
+            cache.evictEntityData(event.entityType());
+        } else {
+            cache.evictEntityData(event.entityType(), event.id());
+        }
+
+        String rolePrefix = event.entityType().getName() + ".";
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+            if (collection.hasCache() && collection.getRole().startsWith(rolePrefix)) {
+                if (event.id() == null) {
+                    cache.evictCollectionData(collection.getRole());
+                } else {
+                    cache.evictCollectionData(collection.getRole(), event.id());
+                }
+            }
+        });
+    }
+}
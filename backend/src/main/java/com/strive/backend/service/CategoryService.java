@@ -1,16 +1,17 @@
 package com.strive.backend.service;
 
 import com.strive.backend.dto.CategoryDTO;
+import com.strive.backend.event.CatalogChangedEvent;
 import com.strive.backend.model.Category;
 import com.strive.backend.repository.CategoryRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,6 +21,9 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional(readOnly = true)
     public List<CategoryDTO> getAllCategories() {
         // Get all root categories with their children in a single query
@@ -31,6 +35,32 @@ public class CategoryService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Entity tag for {@link #getAllCategories}, walking the same tree. Category images can be replaced in
+     * place, so their bytes are part of the tag.
+     */
+    @Transactional(readOnly = true)
+    public String getAllCategoriesETag() {
+        EntityTagBuilder tag = new EntityTagBuilder("categories");
+        for (Category category : categoryRepository.findAllRootCategoriesWithChildren()) {
+            addToTag(tag, category);
+        }
+        return tag.build();
+    }
+
+    private void addToTag(EntityTagBuilder tag, Category category) {
+        tag.add(category.getId())
+                .add(category.getName())
+                .add(category.getParent() != null ? category.getParent().getId() : null)
+                .add(category.getImageType())
+                .add(category.getImageData());
+        List<Category> children = categoryRepository.findByParentId(category.getId());
+        tag.add(children.size());
+        for (Category child : children) {
+            addToTag(tag, child);
+        }
+    }
+
     @Transactional
     public CategoryDTO createCategory(CategoryDTO categoryDTO, MultipartFile image) throws IOException {
         Category category = new Category();
@@ -48,6 +78,7 @@ public class CategoryService {
         }
 
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(CatalogChangedEvent.all(Category.class));
         return convertToDTO(savedCategory);
     }
 
@@ -75,6 +106,7 @@ public class CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(CatalogChangedEvent.all(Category.class));
         return convertToDTO(updatedCategory);
     }
 
@@ -83,6 +115,7 @@ public class CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found"));
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(CatalogChangedEvent.all(Category.class));
     }
 
     private CategoryDTO convertToDTO(Category category) {
@@ -95,7 +128,7 @@ public class CategoryService {
         }
 
         if (category.getImageData() != null) {
-            dto.setImageBase64(Base64.getEncoder().encodeToString(category.getImageData()));
+            dto.setImageData(category.getImageData());
             dto.setImageType(category.getImageType());
         }
 
@@ -2,6 +2,7 @@ package com.strive.backend.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
@@ -12,8 +13,9 @@ import org.springframework.core.io.ClassPathResource;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -40,12 +42,17 @@ public class EmailServiceImpl implements EmailService {
     @Autowired
     private ProductService productService;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Value("${spring.mail.username}")
     private String fromEmail;
     
     @Value("${app.frontend.url:http://localhost:3000}")
     private String frontendUrl;
 
+    // Sent in the background so registration does not wait on SMTP
+    @Async
     @Override
     public void sendWelcomeEmail(String to, String firstName) {
         String subject = "Welcome to Strive!";
@@ -116,7 +123,7 @@ public class EmailServiceImpl implements EmailService {
             helper.setText(htmlContent, true);
             
             // Send the email
-            emailSender.send(message);
+            timedSend("welcome", () -> emailSender.send(message));
             log.info("HTML welcome email sent successfully to: {}", to);
             
         } catch (Exception e) {
@@ -172,6 +179,8 @@ public class EmailServiceImpl implements EmailService {
         sendEmail(to, subject, text);
     }
     
+    // Sent in the background, after the order transaction has released its connection
+    @Async
     @Override
     public void sendHtmlOrderConfirmationEmail(String to, String firstName, Long orderId, String totalAmount, List<OrderItem> orderItems) {
         try {
@@ -206,9 +215,9 @@ public class EmailServiceImpl implements EmailService {
                         String cidReference = "";
                         if (productDTO.getImages() != null && !productDTO.getImages().isEmpty()) {
                             ProductImageDTO imageDTO = productDTO.getImages().get(0);
-                            if (imageDTO.getImageBase64() != null && !imageDTO.getImageBase64().isEmpty()) {
-                                // Extract image data from base64 and store for later attachment
-                                byte[] imageData = Base64.getDecoder().decode(imageDTO.getImageBase64());
+                            if (imageDTO.getImageData() != null && imageDTO.getImageData().length > 0) {
+                                // Store image data for later attachment
+                                byte[] imageData = imageDTO.getImageData();
                                 productImages.put(productDTO.getId(), imageData);
                                 imageTypes.put(productDTO.getId(), imageDTO.getImageType());
                                 
@@ -351,7 +360,7 @@ public class EmailServiceImpl implements EmailService {
             }
             
             // Send the email
-            emailSender.send(message);
+            timedSend("order_confirmation", () -> emailSender.send(message));
             log.info("HTML email with CID images sent successfully to: {}", to);
             
         } catch (Exception e) {
@@ -361,6 +370,25 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    /**
+     * Sends through SMTP and records the time under email.send, tagged with the kind of email and outcome
+     */
+    private void timedSend(String type, Runnable send) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            send.run();
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("email.send")
+                    .description("Time spent sending email over SMTP")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
     /**
      * Helper method to optimize base64 for email clients by removing whitespace and limiting size
      * @param base64 The original base64 string
@@ -393,7 +421,7 @@ public class EmailServiceImpl implements EmailService {
             message.setTo(to);
             message.setSubject(subject);
             message.setText(text);
-            emailSender.send(message);
+            timedSend("plain", () -> emailSender.send(message));
             log.info("Email sent successfully to: {}", to);
         } catch (Exception e) {
             log.error("Failed to send email to: {}", to, e);
@@ -413,7 +441,7 @@ public class EmailServiceImpl implements EmailService {
             helper.setSubject(subject);
             helper.setText(htmlContent, true);
             
-            emailSender.send(message);
+            timedSend("html", () -> emailSender.send(message));
             log.info("HTML email sent successfully to: {}", to);
         } catch (Exception e) {
             log.error("Failed to send HTML email to: {}", to, e);
@@ -421,6 +449,7 @@ public class EmailServiceImpl implements EmailService {
         }
     }
     
+    @Async
     @Override
     public void sendOrderDeliveredEmail(String to, String firstName, Long orderId, List<OrderItem> orderItems) {
         try {
@@ -455,9 +484,9 @@ public class EmailServiceImpl implements EmailService {
                         String cidReference = "";
                         if (productDTO.getImages() != null && !productDTO.getImages().isEmpty()) {
                             ProductImageDTO imageDTO = productDTO.getImages().get(0);
-                            if (imageDTO.getImageBase64() != null && !imageDTO.getImageBase64().isEmpty()) {
-                                // Extract image data from base64 and store for later attachment
-                                byte[] imageData = Base64.getDecoder().decode(imageDTO.getImageBase64());
+                            if (imageDTO.getImageData() != null && imageDTO.getImageData().length > 0) {
+                                // Store image data for later attachment
+                                byte[] imageData = imageDTO.getImageData();
                                 productImages.put(productDTO.getId(), imageData);
                                 imageTypes.put(productDTO.getId(), imageDTO.getImageType());
                                 
@@ -589,7 +618,7 @@ public class EmailServiceImpl implements EmailService {
             }
             
             // Send the email
-            emailSender.send(message);
+            timedSend("order_delivered", () -> emailSender.send(message));
             log.info("Order delivered email sent successfully to: {}", to);
             
         } catch (Exception e) {
@@ -0,0 +1,62 @@
+package com.strive.backend.service;
+
+import com.strive.backend.repository.PasswordResetTokenRepository;
+import com.strive.backend.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Periodically deletes expired password reset and refresh tokens. Each batch is a single DELETE with a
+ * LIMIT in its own transaction, so row locks are held briefly and the sweep never loads entities.
+ */
+@Service
+@Slf4j
+public class ExpiredTokenSweeper {
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${security.token-sweeper.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${security.token-sweeper.max-batches:100}") // per run, so one run cannot go on indefinitely
+    private int maxBatches;
+
+    // Expired refresh tokens are kept a little longer so reuse of a just-expired token is still reported
+    @Value("${security.token-sweeper.refresh-token-retention-hours:24}")
+    private long refreshTokenRetentionHours;
+
+    @Scheduled(fixedDelayString = "${security.token-sweeper.interval-ms:900000}",
+            initialDelayString = "${security.token-sweeper.initial-delay-ms:60000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int resetTokens = deleteInBatches(size -> passwordResetTokenRepository.deleteExpiredBatch(now, size));
+        int refreshTokens = deleteInBatches(size -> refreshTokenRepository.deleteExpiredBatch(
+                now.minusHours(refreshTokenRetentionHours), size));
+        if (resetTokens > 0 || refreshTokens > 0) {
+            log.info("Deleted {} expired password reset token(s) and {} expired refresh token(s)",
+                    resetTokens, refreshTokens);
+        }
+    }
+
+    private int deleteInBatches(IntUnaryOperator deleteBatch) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = deleteBatch.applyAsInt(batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -1,16 +1,17 @@
 package com.strive.backend.service;
 
 import com.strive.backend.dto.FeaturedCategoryDTO;
+import com.strive.backend.event.CatalogChangedEvent;
 import com.strive.backend.model.Category;
 import com.strive.backend.model.FeaturedCategory;
 import com.strive.backend.repository.CategoryRepository;
 import com.strive.backend.repository.FeaturedCategoryRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Base64;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,6 +25,9 @@ public class FeaturedCategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<FeaturedCategoryDTO> getAllFeaturedCategories() {
         return featuredCategoryRepository.findAllByOrderByDisplayOrderAsc()
                 .stream()
@@ -31,8 +35,27 @@ public class FeaturedCategoryService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Entity tag for {@link #getAllFeaturedCategories}. The list carries the category images, which can
+     * be replaced in place, so their bytes are part of the tag.
+     */
+    public String getAllFeaturedCategoriesETag() {
+        EntityTagBuilder tag = new EntityTagBuilder("featured-categories");
+        for (FeaturedCategory featuredCategory : featuredCategoryRepository.findAllByOrderByDisplayOrderAsc()) {
+            Category category = featuredCategory.getCategory();
+            tag.add(featuredCategory.getId())
+                    .add(featuredCategory.getVersion())
+                    .add(category.getId())
+                    .add(buildCategoryPath(category))
+                    .add(category.getImageType())
+                    .add(category.getImageData());
+        }
+        return tag.build();
+    }
+
     @Transactional
     public FeaturedCategoryDTO addFeaturedCategory(Long categoryId) {
+        eventPublisher.publishEvent(CatalogChangedEvent.all(FeaturedCategory.class));
         // Check if we already have 6 featured categories
         if (featuredCategoryRepository.count() >= 6) {
             throw new IllegalStateException("Maximum number of featured categories (6) has been reached");
@@ -54,6 +77,7 @@ public class FeaturedCategoryService {
 
     @Transactional
     public void removeFeaturedCategory(Long id) {
+        eventPublisher.publishEvent(CatalogChangedEvent.all(FeaturedCategory.class));
         FeaturedCategory featuredCategory = featuredCategoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Featured category not found"));
         
@@ -75,6 +99,7 @@ public class FeaturedCategoryService {
 
     @Transactional
     public void updateDisplayOrder(Long id, String direction) {
+        eventPublisher.publishEvent(CatalogChangedEvent.all(FeaturedCategory.class));
         FeaturedCategory featuredCategory = featuredCategoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Featured category not found"));
 
@@ -131,6 +156,7 @@ public class FeaturedCategoryService {
         dto.setCategoryId(featuredCategory.getCategory().getId());
         dto.setName(featuredCategory.getCategory().getName());
         dto.setDisplayOrder(featuredCategory.getDisplayOrder());
+        dto.setVersion(featuredCategory.getVersion());
 
         // Set parent path if category has a parent
         if (featuredCategory.getCategory().getParent() != null) {
@@ -138,7 +164,7 @@ public class FeaturedCategoryService {
         }
 
         if (featuredCategory.getCategory().getImageData() != null) {
-            dto.setImageBase64(Base64.getEncoder().encodeToString(featuredCategory.getCategory().getImageData()));
+            dto.setImageData(featuredCategory.getCategory().getImageData());
             dto.setImageType(featuredCategory.getCategory().getImageType());
         }
 
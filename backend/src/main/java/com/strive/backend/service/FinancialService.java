@@ -3,8 +3,11 @@ package com.strive.backend.service;
 import com.strive.backend.dto.FinancialMetricDTO;
 import com.strive.backend.dto.FinancialOverviewDTO;
 import com.strive.backend.dto.FinancialTransactionDTO;
+import com.strive.backend.dto.FinancialTransactionPageDTO;
+import com.strive.backend.model.FinancialTransaction;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface FinancialService {
@@ -14,7 +17,8 @@ public interface FinancialService {
     
     List<FinancialTransactionDTO> getRecentTransactions(int limit);
     
-    List<FinancialTransactionDTO> getAllTransactions();
+    FinancialTransactionPageDTO getTransactionPage(FinancialTransaction.TransactionType type, Long orderId,
+                                                   LocalDateTime beforeCreatedAt, Long beforeId, int size);
     
     void recordOrderTransaction(Long orderId);
 } 
\ No newline at end of file
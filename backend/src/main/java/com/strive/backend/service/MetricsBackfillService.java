@@ -0,0 +1,16 @@
+package com.strive.backend.service;
+
+import com.strive.backend.dto.MetricsBackfillJobDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MetricsBackfillService {
+    MetricsBackfillJobDTO startBackfill(LocalDate startDate, LocalDate endDate, String requestedBy);
+
+    MetricsBackfillJobDTO resumeBackfill(Long jobId);
+
+    MetricsBackfillJobDTO getBackfillJob(Long jobId);
+
+    List<MetricsBackfillJobDTO> getRecentBackfillJobs();
+}
@@ -1,8 +1,10 @@
 package com.strive.backend.service;
 
 import com.strive.backend.dto.NotificationPreferencesDTO;
+import com.strive.backend.event.NotificationPreferencesChangedEvent;
 import com.strive.backend.model.NotificationPreferences;
 import com.strive.backend.repository.NotificationPreferencesRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -10,15 +12,21 @@ import java.util.Optional;
 @Service
 public class NotificationPreferencesService {
     private final NotificationPreferencesRepository notificationPreferencesRepository;
+    private final UserLookupCache userLookupCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public NotificationPreferencesService(NotificationPreferencesRepository notificationPreferencesRepository) {
+    public NotificationPreferencesService(NotificationPreferencesRepository notificationPreferencesRepository,
+                                          UserLookupCache userLookupCache,
+                                          ApplicationEventPublisher eventPublisher) {
         this.notificationPreferencesRepository = notificationPreferencesRepository;
+        this.userLookupCache = userLookupCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public NotificationPreferencesDTO getUserPreferences(Integer userId) {
-        return notificationPreferencesRepository.findByUserId(userId)
+        return userLookupCache.getPreferences(userId, id -> notificationPreferencesRepository.findByUserId(id)
                 .map(this::convertToDTO)
-                .orElseGet(() -> createDefaultPreferences(userId));
+                .orElseGet(() -> createDefaultPreferences(id)));
     }
 
     public NotificationPreferencesDTO updatePreferences(Integer userId, NotificationPreferencesDTO preferencesDTO) {
@@ -30,7 +38,9 @@ public class NotificationPreferencesService {
         preferences.setPromotions(preferencesDTO.getPromotions());
         preferences.setNewsletter(preferencesDTO.getNewsletter());
 
-        return convertToDTO(notificationPreferencesRepository.save(preferences));
+        NotificationPreferencesDTO saved = convertToDTO(notificationPreferencesRepository.save(preferences));
+        eventPublisher.publishEvent(new NotificationPreferencesChangedEvent(userId));
+        return saved;
     }
 
     private NotificationPreferencesDTO createDefaultPreferences(Integer userId) {
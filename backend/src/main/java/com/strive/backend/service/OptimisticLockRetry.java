@@ -0,0 +1,57 @@
+package com.strive.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write in its own transaction and runs it again when another request updated one
+ * of the same versioned rows between the read and the commit. Each attempt reads fresh rows; rolling
+ * back clears the request's open-in-view EntityManager, so nothing stale is reused. After
+ * {@code persistence.optimistic-retry.max-attempts} the failure propagates and the client gets a 409.
+ * Retries are counted as {@code persistence.optimistic.lock.retries}.
+ */
+@Slf4j
+@Component
+public class OptimisticLockRetry {
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${persistence.optimistic-retry.max-attempts:3}")
+    private int maxAttempts;
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        // Inside a caller's transaction the rows read earlier stay stale, so a retry could not succeed
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Retrying {} after a concurrent update (attempt {} of {})", operation, attempt + 1,
+                        maxAttempts);
+                Counter.builder("persistence.optimistic.lock.retries")
+                        .description("Read-modify-write attempts repeated after a concurrent update")
+                        .tag("operation", operation)
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+    }
+}
@@ -14,11 +14,15 @@ import com.strive.backend.model.User;
 import com.strive.backend.repository.OrderAddressRepository;
 import com.strive.backend.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,9 +31,11 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final OrderAddressRepository orderAddressRepository;
     private final FinancialService financialService;
+    private final ProductSalesService productSalesService;
     private final AddressService addressService;
     private final EmailService emailService;
     private final UserService userService;
+    private final OptimisticLockRetry optimisticLockRetry;
 
     @Transactional
     public OrderResponseDTO createOrder(CreateOrderDTO createOrderDTO) {
@@ -93,6 +99,7 @@ public class OrderService {
         
         // Record financial transaction for the order
         financialService.recordOrderTransaction(order.getId());
+        productSalesService.recordOrderSales(order);
         
         // Send order confirmation email
         try {
@@ -104,7 +111,7 @@ public class OrderService {
                     user.getFirstName(),
                     order.getId(),
                     order.getTotalAmount().toString(),
-                    order.getOrderItems()
+                    List.copyOf(order.getOrderItems())
                 );
             }
         } catch (Exception e) {
@@ -116,6 +123,7 @@ public class OrderService {
         return convertToDTO(order);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getUserOrders(Long userId) {
         return orderRepository.findByUserIdOrderByCreatedAtDesc(userId)
                 .stream()
@@ -123,32 +131,54 @@ public class OrderService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public OrderResponseDTO getOrder(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
         return convertToDTO(order);
     }
     
-    public List<OrderResponseDTO> getAllOrders() {
-        return orderRepository.findAllByOrderByIdDesc().stream()
-                .map(this::convertToDTO)
+    /**
+     * The next page of all orders, newest first; paging from Long.MAX_VALUE walks every order.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponseDTO> getOrdersBefore(Long beforeId, int size) {
+        List<Order> orders = orderRepository.findByIdLessThanOrderByIdDesc(beforeId, PageRequest.of(0, size));
+
+        // One query for the page's addresses instead of one per order
+        List<Integer> addressIds = orders.stream()
+                .map(Order::getAddressId)
+                .filter(Objects::nonNull)
+                .map(Long::intValue)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Integer, OrderAddress> addresses = orderAddressRepository.findAllById(addressIds).stream()
+                .collect(Collectors.toMap(OrderAddress::getId, address -> address));
+
+        return orders.stream()
+                .map(order -> convertToDTO(order,
+                        order.getAddressId() != null ? addresses.get(order.getAddressId().intValue()) : null))
                 .collect(Collectors.toList());
     }
     
-    @Transactional
     public OrderResponseDTO updateOrderStatus(Long orderId, OrderStatus status) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-        
-        // Remember the previous status to check if it's changing to DELIVERED
-        OrderStatus previousStatus = order.getStatus();
-        
-        // Update the status
-        order.setStatus(status);
-        order = orderRepository.save(order);
+        OrderStatus[] previousStatus = new OrderStatus[1];
+        Order order = optimisticLockRetry.execute("order.status", () -> {
+            Order current = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new RuntimeException("Order not found"));
+
+            // Remember the previous status to check if it's changing to DELIVERED
+            previousStatus[0] = current.getStatus();
+
+            // Update the status; items are loaded for the DTO and the email, which are built after commit
+            current.setStatus(status);
+            Hibernate.initialize(current.getOrderItems());
+            return orderRepository.saveAndFlush(current);
+        });
         
-        // If status is changing to DELIVERED, send a delivery notification email
-        if (status == OrderStatus.DELIVERED && previousStatus != OrderStatus.DELIVERED) {
+        // If status is changing to DELIVERED, send a delivery notification email. This runs after the
+        // commit, so a retried attempt cannot send it twice.
+        if (status == OrderStatus.DELIVERED && previousStatus[0] != OrderStatus.DELIVERED) {
             try {
                 User user = userService.getUserById(order.getUserId().intValue());
                 if (user != null && user.getEmail() != null) {
@@ -157,7 +187,8 @@ public class OrderService {
                         user.getEmail(),
                         user.getFirstName(),
                         order.getId(),
-                        order.getOrderItems()
+                        // Copied here; the email is built on another thread after the session closes
+                        List.copyOf(order.getOrderItems())
                     );
                 }
             } catch (Exception e) {
@@ -184,6 +215,10 @@ public class OrderService {
     }
 
     private OrderResponseDTO convertToDTO(Order order) {
+        return convertToDTO(order, getOrderAddress(order.getAddressId()));
+    }
+
+    private OrderResponseDTO convertToDTO(Order order, OrderAddress orderAddress) {
         OrderResponseDTO dto = new OrderResponseDTO();
         dto.setId(order.getId());
         dto.setUserId(order.getUserId());
@@ -195,9 +230,9 @@ public class OrderService {
         dto.setCardLastFour(order.getCardLastFour());
         dto.setCardExpiry(order.getCardExpiry());
         dto.setCreatedAt(order.getCreatedAt());
+        dto.setVersion(order.getVersion());
 
         // Add order address details if available
-        OrderAddress orderAddress = getOrderAddress(order.getAddressId());
         if (orderAddress != null) {
             dto.setOrderAddress(convertAddressToDTO(orderAddress));
         }
@@ -0,0 +1,27 @@
+package com.strive.backend.service;
+
+import com.strive.backend.dto.CategorySalesDTO;
+import com.strive.backend.dto.ProductSalesDTO;
+import com.strive.backend.dto.SizeSalesDTO;
+import com.strive.backend.model.Order;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public interface ProductSalesService {
+
+    enum RankBy { REVENUE, UNITS }
+
+    void recordOrderSales(Order order);
+
+    List<ProductSalesDTO> getTopProducts(LocalDate startDate, LocalDate endDate, RankBy rankBy, int limit);
+
+    List<CategorySalesDTO> getCategorySales(LocalDate startDate, LocalDate endDate);
+
+    List<ProductSalesDTO> getSellThrough(LocalDate startDate, LocalDate endDate, int limit);
+
+    List<SizeSalesDTO> getSizeSales(Integer productId, LocalDate startDate, LocalDate endDate);
+
+    Map<Integer, Long> getUnitsSoldSince(LocalDate since);
+}
@@ -3,6 +3,9 @@ package com.strive.backend.service;
 import com.strive.backend.dto.ProductDTO;
 import com.strive.backend.dto.ProductImageDTO;
 import com.strive.backend.dto.StockDTO;
+import com.strive.backend.event.CatalogChangedEvent;
+import com.strive.backend.exception.ConflictException;
+import com.strive.backend.exception.PreconditionRequiredException;
 import com.strive.backend.model.FeaturedProduct;
 import com.strive.backend.model.Product;
 import com.strive.backend.model.ProductImage;
@@ -10,17 +13,22 @@ import com.strive.backend.model.Stock;
 import com.strive.backend.repository.ProductRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import com.strive.backend.model.Review;
 import java.io.IOException;
-import java.util.Base64;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.ArrayList;
 
 @Service
@@ -29,18 +37,60 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
-    public List<ProductDTO> getAllProducts() {
-        return productRepository.findAll().stream()
+    @Autowired
+    private ProductSalesService productSalesService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Window for the "bestseller" catalog sort
+    private static final int BESTSELLER_WINDOW_DAYS = 30;
+
+    /**
+     * The next page of the whole catalogue in id order; paging from 0 walks every product.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProductsAfter(Integer afterId, int size) {
+        return productRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size)).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    // Its own transaction so the lazy associations also load outside a web request, e.g. for emails
+    @Transactional(readOnly = true)
     public ProductDTO getProductById(Integer id) {
         return productRepository.findById(id)
                 .map(this::convertToDTO)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found"));
     }
 
+    /**
+     * Entity tag for {@link #getProductById}, computed from projections of the product and its child rows,
+     * so neither the entities nor any image bytes are loaded. Image rows are never modified in place, so an
+     * image is identified by its id and position.
+     */
+    @Transactional(readOnly = true)
+    public String getProductETag(Integer id) {
+        ProductRepository.ProductTagFields product = productRepository.findTagFieldsById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Product not found"));
+        EntityTagBuilder tag = new EntityTagBuilder("product")
+                .add(product.getId())
+                .add(product.getVersion())
+                .add(product.getUpdatedAt())
+                .add(product.getCategoryName())
+                .add(product.getFeaturedDisplayOrder());
+        for (List<Object[]> rows : List.of(productRepository.findImageTagFields(id),
+                productRepository.findStockTagFields(id), productRepository.findReviewTagFields(id))) {
+            tag.add(rows.size());
+            for (Object[] row : rows) {
+                for (Object field : row) {
+                    tag.add(field);
+                }
+            }
+        }
+        return tag.build();
+    }
+
     @Transactional
     public ProductDTO createProduct(ProductDTO productDTO, List<MultipartFile> images) {
         Product product = new Product();
@@ -51,21 +101,37 @@ public class ProductService {
         }
 
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Product.class, savedProduct.getId()));
         return convertToDTO(savedProduct);
     }
 
+    /**
+     * Applies the edit to the version the client loaded, which the DTO must carry. An edit of an older
+     * version, or one that loses a race with a concurrent write, is refused with a conflict rather than
+     * retried, since applying the whole DTO again would overwrite the other write.
+     */
     @Transactional
     public ProductDTO updateProduct(Integer id, ProductDTO productDTO, List<MultipartFile> images) {
+        if (productDTO.getVersion() == null) {
+            throw new PreconditionRequiredException("Send the version of product " + id + " that was edited.");
+        }
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found"));
+        if (!productDTO.getVersion().equals(product.getVersion())) {
+            throw new ConflictException("Product " + id + " was changed by someone else. Reload it and try again.");
+        }
 
         updateProductFromDTO(product, productDTO);
-        
+
         if (images != null && !images.isEmpty()) {
             addImagesToProduct(product, images);
         }
 
-        Product updatedProduct = productRepository.save(product);
+        // Touched so the version moves even when only stocks or images changed, and flushed so the
+        // returned DTO carries the new version
+        product.setUpdatedAt(LocalDateTime.now());
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Product.class, id));
         return convertToDTO(updatedProduct);
     }
 
@@ -74,6 +140,7 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found"));
         productRepository.delete(product);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Product.class, id));
     }
 
     @Transactional
@@ -83,6 +150,7 @@ public class ProductService {
         
         product.getImages().removeIf(image -> image.getId().equals(imageId));
         productRepository.save(product);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Product.class, productId));
     }
 
     @Transactional
@@ -91,6 +159,7 @@ public class ProductService {
                 .orElseThrow(() -> new EntityNotFoundException("Product not found"));
         
         product.setStatus(Product.Status.valueOf(status.toUpperCase()));
+        eventPublisher.publishEvent(new CatalogChangedEvent(Product.class, id));
         return convertToDTO(productRepository.save(product));
     }
 
@@ -104,16 +173,25 @@ public class ProductService {
             product.setStatus(dto.getStatus());
         }
 
-        // Update stocks
+        // Update stocks in place by size; replacing them would insert the new rows before the old ones
+        // are deleted and break the (product_id, size) unique key
         if (dto.getStocks() != null) {
-            product.getStocks().clear();
-            dto.getStocks().forEach(stockDTO -> {
-                Stock stock = new Stock();
-                stock.setSize(stockDTO.getSize());
+            Map<String, Stock> stocksBySize = new HashMap<>();
+            product.getStocks().forEach(stock -> stocksBySize.put(stock.getSize(), stock));
+            Set<String> sizes = new HashSet<>();
+            for (StockDTO stockDTO : dto.getStocks()) {
+                Stock stock = stocksBySize.get(stockDTO.getSize());
+                if (stock == null) {
+                    stock = new Stock();
+                    stock.setSize(stockDTO.getSize());
+                    stock.setProduct(product);
+                    product.getStocks().add(stock);
+                    stocksBySize.put(stock.getSize(), stock);
+                }
                 stock.setQuantity(stockDTO.getStock());
-                stock.setProduct(product);
-                product.getStocks().add(stock);
-            });
+                sizes.add(stockDTO.getSize());
+            }
+            product.getStocks().removeIf(stock -> !sizes.contains(stock.getSize()));
         }
     }
 
@@ -141,6 +219,7 @@ public class ProductService {
         dto.setPrice(product.getPrice());
         dto.setCategoryId(product.getCategoryId());
         dto.setStatus(product.getStatus());
+        dto.setVersion(product.getVersion());
         
         if (product.getCategory() != null) {
             dto.setCategoryName(product.getCategory().getName());
@@ -180,7 +259,7 @@ public class ProductService {
     private ProductImageDTO convertToImageDTO(ProductImage image) {
         ProductImageDTO dto = new ProductImageDTO();
         dto.setId(image.getId());
-        dto.setImageBase64(Base64.getEncoder().encodeToString(image.getImageData()));
+        dto.setImageData(image.getImageData());
         dto.setImageType(image.getImageType());
         dto.setDisplayOrder(image.getDisplayOrder());
         return dto;
@@ -217,9 +296,11 @@ public class ProductService {
         product.getImages().sort(Comparator.comparing(ProductImage::getDisplayOrder));
 
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Product.class, productId));
         return convertToDTO(updatedProduct);
     }
 
+    @Transactional(readOnly = true)
     public List<ProductDTO> getFeaturedProducts() {
         return productRepository.findAllByFeaturedProductIsNotNullOrderByFeaturedProductDisplayOrderAsc()
                 .stream()
@@ -244,6 +325,8 @@ public class ProductService {
         }
 
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Product.class, id));
+        eventPublisher.publishEvent(CatalogChangedEvent.all(FeaturedProduct.class));
         return convertToDTO(updatedProduct);
     }
 
@@ -272,6 +355,7 @@ public class ProductService {
         }
 
         List<Product> updatedProducts = productRepository.saveAll(products);
+        eventPublisher.publishEvent(CatalogChangedEvent.all(FeaturedProduct.class));
         return updatedProducts.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -306,6 +390,7 @@ public class ProductService {
         public int getTotalPages() { return totalPages; }
     }
 
+    @Transactional(readOnly = true)
     public PageResponse<ProductDTO> getPaginatedProducts(
             int page, int size, String categoryIdsParam, String name,
             Double minPrice, Double maxPrice, Integer minRating, 
@@ -397,6 +482,13 @@ public class ProductService {
                         return Double.compare(rating2, rating1);
                     });
                     break;
+                case "bestseller":
+                    Map<Integer, Long> unitsSold = productSalesService.getUnitsSoldSince(
+                        LocalDate.now().minusDays(BESTSELLER_WINDOW_DAYS));
+                    filteredProducts.sort(Comparator
+                        .comparing((Product p) -> unitsSold.getOrDefault(p.getId(), 0L), Comparator.reverseOrder())
+                        .thenComparing(Product::getName));
+                    break;
             }
         }
         
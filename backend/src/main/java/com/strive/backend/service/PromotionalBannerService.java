@@ -1,10 +1,14 @@
 package com.strive.backend.service;
 
 import com.strive.backend.dto.PromotionalBannerDTO;
+import com.strive.backend.event.CatalogChangedEvent;
+import com.strive.backend.exception.ConflictException;
+import com.strive.backend.exception.PreconditionRequiredException;
 import com.strive.backend.model.PromotionalBanner;
 import com.strive.backend.repository.PromotionalBannerRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +21,12 @@ public class PromotionalBannerService {
     @Autowired
     private PromotionalBannerRepository promotionalBannerRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
     /**
      * Get all banners ordered by display order
      */
@@ -46,11 +56,39 @@ public class PromotionalBannerService {
         return PromotionalBannerDTO.fromEntity(banner);
     }
 
+    /**
+     * Entity tags for the three read methods above
+     */
+    public String getAllBannersETag() {
+        return bannersETag("banners", promotionalBannerRepository.findAllByOrderByDisplayOrderAsc());
+    }
+
+    public String getActiveBannersETag() {
+        return bannersETag("active-banners", promotionalBannerRepository.findByActiveIsTrueOrderByDisplayOrderAsc());
+    }
+
+    public String getBannerETag(Integer id) {
+        PromotionalBanner banner = promotionalBannerRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Banner not found with id: " + id));
+        return bannersETag("banner", List.of(banner));
+    }
+
+    private static String bannersETag(String kind, List<PromotionalBanner> banners) {
+        EntityTagBuilder tag = new EntityTagBuilder(kind);
+        for (PromotionalBanner banner : banners) {
+            tag.add(banner.getId())
+                    .add(banner.getVersion())
+                    .add(banner.getUpdatedAt());
+        }
+        return tag.build();
+    }
+
     /**
      * Create a new banner
      */
     @Transactional
     public PromotionalBannerDTO createBanner(PromotionalBannerDTO bannerDTO) {
+        eventPublisher.publishEvent(CatalogChangedEvent.all(PromotionalBanner.class));
         PromotionalBanner banner = new PromotionalBanner();
         updateBannerFromDTO(banner, bannerDTO);
         
@@ -68,15 +106,24 @@ public class PromotionalBannerService {
     }
 
     /**
-     * Update an existing banner
+     * Update an existing banner. The DTO must carry the version it was loaded from; an edit of an older
+     * version is refused, and so is one that loses a race with a concurrent write. It is not retried,
+     * since applying the whole DTO again would overwrite the other write.
      */
     @Transactional
     public PromotionalBannerDTO updateBanner(Integer id, PromotionalBannerDTO bannerDTO) {
+        if (bannerDTO.getVersion() == null) {
+            throw new PreconditionRequiredException("Send the version of banner " + id + " that was edited.");
+        }
+        eventPublisher.publishEvent(CatalogChangedEvent.all(PromotionalBanner.class));
         PromotionalBanner banner = promotionalBannerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Banner not found with id: " + id));
-        
+        if (!bannerDTO.getVersion().equals(banner.getVersion())) {
+            throw new ConflictException("Banner " + id + " was changed by someone else. Reload it and try again.");
+        }
+
         updateBannerFromDTO(banner, bannerDTO);
-        PromotionalBanner savedBanner = promotionalBannerRepository.save(banner);
+        PromotionalBanner savedBanner = promotionalBannerRepository.saveAndFlush(banner);
         return PromotionalBannerDTO.fromEntity(savedBanner);
     }
 
@@ -85,6 +132,7 @@ public class PromotionalBannerService {
      */
     @Transactional
     public void deleteBanner(Integer id) {
+        eventPublisher.publishEvent(CatalogChangedEvent.all(PromotionalBanner.class));
         if (!promotionalBannerRepository.existsById(id)) {
             throw new EntityNotFoundException("Banner not found with id: " + id);
         }
@@ -96,6 +144,7 @@ public class PromotionalBannerService {
      */
     @Transactional
     public PromotionalBannerDTO updateBannerActive(Integer id, Boolean active) {
+        eventPublisher.publishEvent(CatalogChangedEvent.all(PromotionalBanner.class));
         PromotionalBanner banner = promotionalBannerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Banner not found with id: " + id));
         
@@ -105,41 +154,46 @@ public class PromotionalBannerService {
     }
 
     /**
-     * Update banner display order
+     * Update banner display order, swapping with the banner that holds it; retried if either banner
+     * is changed concurrently
      */
-    @Transactional
     public PromotionalBannerDTO updateBannerOrder(Integer id, Integer newOrder) {
-        PromotionalBanner banner = promotionalBannerRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Banner not found with id: " + id));
+        return optimisticLockRetry.execute("banner.order", () -> {
+            eventPublisher.publishEvent(CatalogChangedEvent.all(PromotionalBanner.class));
+            PromotionalBanner banner = promotionalBannerRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Banner not found with id: " + id));
         
-        Integer oldOrder = banner.getDisplayOrder();
+            Integer oldOrder = banner.getDisplayOrder();
         
-        // Only proceed if there's an actual change
-        if (oldOrder != null && !oldOrder.equals(newOrder)) {
-            // Check if there's another banner with the target order
-            PromotionalBanner conflictingBanner = promotionalBannerRepository.findByDisplayOrder(newOrder);
+            // Only proceed if there's an actual change
+            if (oldOrder != null && !oldOrder.equals(newOrder)) {
+                // Check if there's another banner with the target order
+                PromotionalBanner conflictingBanner = promotionalBannerRepository.findByDisplayOrder(newOrder);
             
-            // If there's a conflict and it's not the same banner
-            if (conflictingBanner != null && !conflictingBanner.getId().equals(id)) {
-                // Temporarily set the conflicting banner to null to avoid unique constraint
-                conflictingBanner.setDisplayOrder(-1);
-                promotionalBannerRepository.save(conflictingBanner);
+                // If there's a conflict and it's not the same banner
+                if (conflictingBanner != null && !conflictingBanner.getId().equals(id)) {
+                    // Temporarily set the conflicting banner to null to avoid unique constraint
+                    conflictingBanner.setDisplayOrder(-1);
+                    promotionalBannerRepository.save(conflictingBanner);
                 
-                // Update our banner
-                banner.setDisplayOrder(newOrder);
-                banner = promotionalBannerRepository.save(banner);
+                    // Update our banner
+                    banner.setDisplayOrder(newOrder);
+                    banner = promotionalBannerRepository.save(banner);
                 
-                // Now that we've updated our banner, update the other one 
-                conflictingBanner.setDisplayOrder(oldOrder);
-                promotionalBannerRepository.save(conflictingBanner);
-            } else {
-                // No conflict, just update
-                banner.setDisplayOrder(newOrder);
-                banner = promotionalBannerRepository.save(banner);
+                    // Now that we've updated our banner, update the other one 
+                    conflictingBanner.setDisplayOrder(oldOrder);
+                    promotionalBannerRepository.save(conflictingBanner);
+                } else {
+                    // No conflict, just update
+                    banner.setDisplayOrder(newOrder);
+                    banner = promotionalBannerRepository.save(banner);
+                }
             }
-        }
         
-        return PromotionalBannerDTO.fromEntity(banner);
+            // Flushed so the returned DTO carries the new version
+            promotionalBannerRepository.flush();
+            return PromotionalBannerDTO.fromEntity(banner);
+        });
     }
 
     /**
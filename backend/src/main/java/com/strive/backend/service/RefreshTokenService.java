@@ -0,0 +1,106 @@
+package com.strive.backend.service;
+
+import com.strive.backend.model.RefreshToken;
+import com.strive.backend.model.User;
+import com.strive.backend.repository.RefreshTokenRepository;
+import com.strive.backend.repository.UserRepository;
+import com.strive.backend.security.TokenHashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.refresh-expiration:1209600}") // 14 days in seconds
+    private Long refreshExpiration;
+
+    /**
+     * The user a refresh was made for, together with the refresh token that replaces the presented one.
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    /**
+     * Starts a new token family for a fresh login and returns the raw token. Only its hash is stored.
+     */
+    @Transactional
+    public String issue(User user) {
+        return create(user.getId(), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family. A token that was already used or
+     * revoked means it has leaked, so the whole family is revoked and the caller must log in again.
+     * The revocation is committed even though the method then fails.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (token.getUsedAt() != null || token.getRevokedAt() != null) {
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now());
+            log.warn("Refresh token reuse detected for user {}, revoked {} token(s) in family {}",
+                    token.getUserId(), revoked, token.getFamilyId());
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+        if (token.isExpired()) {
+            throw new BadCredentialsException("Refresh token has expired");
+        }
+
+        User user = userRepository.findById(token.getUserId())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        token.setUsedAt(LocalDateTime.now());
+        refreshTokenRepository.save(token);
+        return new Rotation(user, create(user.getId(), token.getFamilyId()));
+    }
+
+    /**
+     * Logs out the session the token belongs to. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Transactional
+    public void revokeAllForUser(Integer userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    private String create(Integer userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(TokenHashing.sha256Hex(rawToken))
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(now.plusSeconds(refreshExpiration))
+                .build());
+        return rawToken;
+    }
+}
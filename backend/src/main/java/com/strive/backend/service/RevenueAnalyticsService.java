@@ -0,0 +1,11 @@
+package com.strive.backend.service;
+
+import com.strive.backend.dto.RevenueSeriesDTO;
+import com.strive.backend.model.MetricGranularity;
+
+import java.time.LocalDate;
+
+public interface RevenueAnalyticsService {
+    RevenueSeriesDTO getRevenueSeries(MetricGranularity granularity, LocalDate startDate, LocalDate endDate,
+                                      int movingAverageWindow);
+}
@@ -0,0 +1,131 @@
+package com.strive.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strive.backend.dto.StorefrontHomeDTO;
+import com.strive.backend.event.CatalogChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds the home page data (active banners, featured categories and products, and the category tree)
+ * as ready-to-send JSON, plain and gzipped, so serving it copies bytes instead of building DTOs and
+ * encoding images. The payload is rebuilt in the background after any catalogue change commits, and
+ * on a schedule to pick up changes made through other instances. Rebuild requests that arrive while
+ * one is running are coalesced into a single follow-up build.
+ */
+@Slf4j
+@Service
+public class StorefrontHomeService {
+
+    @Autowired
+    private PromotionalBannerService bannerService;
+
+    @Autowired
+    private FeaturedCategoryService featuredCategoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong requestedVersion = new AtomicLong();
+    private final Object buildLock = new Object();
+    private long builtVersion = -1;
+    private volatile Payload payload;
+
+    public record Payload(byte[] json, byte[] gzip, Instant builtAt) {
+    }
+
+    /**
+     * The current payload; only the first call after startup waits for a build.
+     */
+    public Payload getPayload() {
+        Payload current = payload;
+        return current != null ? current : rebuild();
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${storefront.home.refresh-interval-ms:300000}",
+            initialDelayString = "${storefront.home.refresh-interval-ms:300000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    /**
+     * Builds a payload that reflects every change requested before this call. A caller that waited for
+     * the lock while another build covered its request returns that build instead of starting one.
+     */
+    public Payload rebuild() {
+        long version = requestedVersion.incrementAndGet();
+        synchronized (buildLock) {
+            if (builtVersion >= version) {
+                return payload;
+            }
+            long covered = requestedVersion.get();
+            payload = Timer.builder("storefront.home.build")
+                    .description("Time to rebuild the pre-serialized home page payload")
+                    .register(meterRegistry)
+                    .record(this::build);
+            builtVersion = covered;
+            log.debug("Rebuilt storefront home payload: {} bytes, {} gzipped", payload.json().length,
+                    payload.gzip().length);
+            return payload;
+        }
+    }
+
+    private Payload build() {
+        // A read-write transaction is routed to the primary, so a change that just committed is never
+        // missed because a replica has not applied it yet
+        StorefrontHomeDTO home = transactionTemplate.execute(status -> new StorefrontHomeDTO(
+                bannerService.getActiveBanners(),
+                featuredCategoryService.getAllFeaturedCategories(),
+                productService.getFeaturedProducts(),
+                categoryService.getAllCategories()));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(home);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new Payload(json, compressed.toByteArray(), Instant.now());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize the storefront home payload", e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.strive.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strive.backend.dto.NotificationPreferencesDTO;
+import com.strive.backend.event.NotificationPreferencesChangedEvent;
+import com.strive.backend.event.UserChangedEvent;
+import com.strive.backend.model.User;
+import com.strive.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring caches for users by id and by email and for notification preferences by user.
+ * Entries are dropped after the transaction that changed them commits, via {@link UserChangedEvent}
+ * and {@link NotificationPreferencesChangedEvent}; the TTL bounds staleness on other instances.
+ * Users are held as immutable snapshots and every lookup returns a detached copy of its own, so a caller
+ * that modifies one changes neither the cache nor anyone else's copy. Writes load the user from the
+ * repository, since a copy may be up to a TTL old and saving it would write that state back.
+ * Hit ratios are published as the cache.* meters of the global Micrometer registry.
+ */
+@Component
+public class UserLookupCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${cache.users.max-size:10000}")
+    private long maxSize;
+
+    @Value("${cache.users.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<Integer, CachedUser> usersById;
+    private Cache<String, Integer> userIdsByEmail;
+    private Cache<Integer, NotificationPreferencesDTO> preferencesByUserId;
+
+    @PostConstruct
+    void init() {
+        usersById = CaffeineCacheMetrics.monitor(Metrics.globalRegistry, newCache(), "users.byId");
+        userIdsByEmail = CaffeineCacheMetrics.monitor(Metrics.globalRegistry, newCache(), "users.byEmail");
+        preferencesByUserId = CaffeineCacheMetrics.monitor(Metrics.globalRegistry, newCache(),
+                "users.notificationPreferences");
+    }
+
+    private <K, V> Cache<K, V> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public User getById(Integer id) {
+        CachedUser cached = usersById.get(id, key -> userRepository.findById(key).map(CachedUser::of).orElse(null));
+        return cached != null ? cached.toUser() : null;
+    }
+
+    /**
+     * Looks the id up by email and the user by id, so both paths share one cached user.
+     */
+    public User getByEmail(String email) {
+        Integer id = userIdsByEmail.get(email, key -> {
+            User user = userRepository.findByEmail(key);
+            if (user == null) {
+                return null;
+            }
+            usersById.put(user.getId(), CachedUser.of(user));
+            return user.getId();
+        });
+        return id != null ? getById(id) : null;
+    }
+
+    public NotificationPreferencesDTO getPreferences(Integer userId,
+            Function<Integer, NotificationPreferencesDTO> loader) {
+        return preferencesByUserId.get(userId, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        usersById.invalidate(event.userId());
+        // The previous email is not known here; changes are rare, so scan for it
+        userIdsByEmail.asMap().values().removeIf(event.userId()::equals);
+        preferencesByUserId.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationPreferencesChanged(NotificationPreferencesChangedEvent event) {
+        preferencesByUserId.invalidate(event.userId());
+    }
+
+    private record CachedUser(Integer id, String email, String password, String firstName, String lastName,
+                              String phone, String countryCode, User.UserRole role, Integer tokenVersion,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getEmail(), user.getPassword(), user.getFirstName(),
+                    user.getLastName(), user.getPhone(), user.getCountryCode(), user.getRole(),
+                    user.getTokenVersion(), user.getCreatedAt(), user.getUpdatedAt());
+        }
+
+        User toUser() {
+            User user = new User(email, password, firstName, lastName, phone, role);
+            user.setId(id);
+            user.setCountryCode(countryCode);
+            user.setTokenVersion(tokenVersion);
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(updatedAt);
+            return user;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.strive.backend.service;
 
+import com.strive.backend.event.UserChangedEvent;
 import com.strive.backend.model.User;
 import com.strive.backend.repository.UserRepository;
+import com.strive.backend.security.PasswordHashingService;
+import com.strive.backend.security.TokenVersionCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.Arrays;
 import java.util.List;
@@ -16,7 +19,16 @@ public class UserServiceImpl implements UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<User> getAllEmployeesAndAdmins() {
@@ -35,15 +47,25 @@ public class UserServiceImpl implements UserService {
             user.setLastName(userDetails.getLastName());
         }
         if (userDetails.getRole() != null) {
-            user.setRole(User.UserRole.valueOf(userDetails.getRole()));
+            User.UserRole role = User.UserRole.valueOf(userDetails.getRole());
+            if (role != user.getRole()) {
+                // Tokens carry the role, so outstanding ones must stop working
+                user.setRole(role);
+                user.setTokenVersion(user.getTokenVersion() + 1);
+            }
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        tokenVersionCache.evict(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return saved;
     }
 
     @Override
     public void deleteUser(Integer id) {
         userRepository.deleteById(id);
+        tokenVersionCache.evict(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Override
@@ -53,17 +75,17 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User getUserById(Integer id) {
-        return userRepository.findById(id).orElse(null);
+        return userLookupCache.getById(id);
     }
 
     @Override
     public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return userLookupCache.getByEmail(email);
     }
 
     @Override
     public User createUser(User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         return userRepository.save(user);
     }
 
@@ -88,10 +110,15 @@ public class UserServiceImpl implements UserService {
             user.setCountryCode(userDetails.getCountryCode());
         }
 
-        if (userDetails.getEmail() != null) {
+        if (userDetails.getEmail() != null && !userDetails.getEmail().equals(user.getEmail())) {
+            // The email is the token subject, so tokens issued for the old address are revoked
             user.setEmail(userDetails.getEmail());
+            user.setTokenVersion(user.getTokenVersion() + 1);
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        tokenVersionCache.evict(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return saved;
     }
 }
\ No newline at end of file
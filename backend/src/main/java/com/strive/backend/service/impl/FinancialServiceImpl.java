@@ -3,10 +3,13 @@ package com.strive.backend.service.impl;
 import com.strive.backend.dto.FinancialMetricDTO;
 import com.strive.backend.dto.FinancialOverviewDTO;
 import com.strive.backend.dto.FinancialTransactionDTO;
+import com.strive.backend.dto.FinancialTransactionPageDTO;
 import com.strive.backend.model.FinancialMetric;
 import com.strive.backend.model.FinancialTransaction;
+import com.strive.backend.model.MetricGranularity;
 import com.strive.backend.model.Order;
 import com.strive.backend.repository.FinancialMetricRepository;
+import com.strive.backend.repository.FinancialMetricRollupRepository;
 import com.strive.backend.repository.FinancialTransactionRepository;
 import com.strive.backend.repository.OrderRepository;
 import com.strive.backend.service.FinancialService;
@@ -16,10 +19,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -28,11 +31,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FinancialServiceImpl implements FinancialService {
 
+    private static final int MAX_TRANSACTION_PAGE_SIZE = 100;
+
     private final FinancialMetricRepository financialMetricRepository;
+    private final FinancialMetricRollupRepository financialMetricRollupRepository;
     private final FinancialTransactionRepository financialTransactionRepository;
     private final OrderRepository orderRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public FinancialOverviewDTO getFinancialOverview() {
         LocalDate today = LocalDate.now();
         LocalDate startOfMonth = today.with(TemporalAdjusters.firstDayOfMonth());
@@ -133,6 +140,7 @@ public class FinancialServiceImpl implements FinancialService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<FinancialMetricDTO> getFinancialMetricsByDateRange(LocalDate startDate, LocalDate endDate) {
         return financialMetricRepository.findByDateBetweenOrderByDateDesc(startDate, endDate)
             .stream()
@@ -141,6 +149,7 @@ public class FinancialServiceImpl implements FinancialService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<FinancialTransactionDTO> getRecentTransactions(int limit) {
         return financialTransactionRepository.findLatestTransactions(limit)
             .stream()
@@ -149,12 +158,31 @@ public class FinancialServiceImpl implements FinancialService {
     }
 
     @Override
-    public List<FinancialTransactionDTO> getAllTransactions() {
-        return financialTransactionRepository.findAll()
-            .stream()
-            .sorted(Comparator.comparing(FinancialTransaction::getCreatedAt).reversed())
-            .map(this::convertToFinancialTransactionDTO)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public FinancialTransactionPageDTO getTransactionPage(FinancialTransaction.TransactionType type, Long orderId,
+                                                          LocalDateTime beforeCreatedAt, Long beforeId, int size) {
+        if (beforeCreatedAt != null && beforeId == null) {
+            beforeId = Long.MAX_VALUE;
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_TRANSACTION_PAGE_SIZE));
+
+        // Fetch one extra row to find out whether another page exists without a COUNT(*)
+        List<FinancialTransaction> rows = financialTransactionRepository.findPageBefore(
+            type, orderId, beforeCreatedAt, beforeId, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<FinancialTransaction> page = hasMore ? rows.subList(0, pageSize) : rows;
+        FinancialTransaction last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return FinancialTransactionPageDTO.builder()
+            .content(page.stream()
+                .map(this::convertToFinancialTransactionDTO)
+                .collect(Collectors.toList()))
+            .size(pageSize)
+            .hasMore(hasMore)
+            .nextCreatedAt(hasMore ? last.getCreatedAt() : null)
+            .nextId(hasMore ? last.getId() : null)
+            .build();
     }
 
     @Override
@@ -174,7 +202,8 @@ public class FinancialServiceImpl implements FinancialService {
         
         financialTransactionRepository.save(transaction);
 
-        // Update daily metrics
+        // Update daily metrics. Revenue is gross order revenue on the order's day; refunds are not
+        // deducted, here or in the backfill that rebuilds these rows
         LocalDate orderDate = order.getCreatedAt().toLocalDate();
         Optional<FinancialMetric> existingMetric = financialMetricRepository.findByDate(orderDate);
 
@@ -194,6 +223,12 @@ public class FinancialServiceImpl implements FinancialService {
                 .build();
             financialMetricRepository.save(newMetric);
         }
+
+        // Keep the weekly and monthly rollups in step with the daily metric
+        financialMetricRollupRepository.addToPeriod(MetricGranularity.WEEK.name(),
+            orderDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), order.getTotalAmount(), 1);
+        financialMetricRollupRepository.addToPeriod(MetricGranularity.MONTH.name(),
+            orderDate.with(TemporalAdjusters.firstDayOfMonth()), order.getTotalAmount(), 1);
     }
 
     private FinancialMetricDTO convertToFinancialMetricDTO(FinancialMetric financialMetric) {
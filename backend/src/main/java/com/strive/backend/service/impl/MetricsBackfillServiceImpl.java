@@ -0,0 +1,406 @@
+package com.strive.backend.service.impl;
+
+import com.strive.backend.dto.MetricsBackfillJobDTO;
+import com.strive.backend.model.MetricGranularity;
+import com.strive.backend.model.MetricsBackfillJob;
+import com.strive.backend.model.MetricsBackfillJob.BackfillStatus;
+import com.strive.backend.model.MetricsBackfillPartition;
+import com.strive.backend.repository.MetricsBackfillJobRepository;
+import com.strive.backend.repository.MetricsBackfillPartitionRepository;
+import com.strive.backend.service.MetricsBackfillService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes financial_metrics from orders and financial_transactions. A job is split into date
+ * partitions that run on a fixed worker pool, at most {@code parallelism} at a time. Revenue is gross
+ * order revenue, defined as in {@link FinancialServiceImpl#recordOrderTransaction}: the ORDER transaction
+ * amounts, on the day the order was placed, with refunds not deducted. Each partition
+ * reads its order totals, batch-upserts one metrics row per day and marks itself completed
+ * in a single transaction, so a job interrupted by a crash resumes from the first unfinished partition.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MetricsBackfillServiceImpl implements MetricsBackfillService {
+
+    private static final int MAX_RANGE_DAYS = 3660;
+    private static final int MAX_QUEUED_JOBS = 10;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    // The same sums the live pipeline adds up: one count and one amount per ORDER transaction
+    private static final String ORDER_TOTALS_SQL =
+            "SELECT DATE(o.created_at) AS order_day, SUM(ft.amount) AS revenue, COUNT(*) AS orders_count " +
+            "FROM financial_transactions ft JOIN orders o ON o.id = ft.order_id " +
+            "WHERE ft.transaction_type = 'ORDER' AND o.created_at >= ? AND o.created_at < ? " +
+            "GROUP BY DATE(o.created_at)";
+
+    private static final String UPSERT_METRIC_SQL =
+            "INSERT INTO financial_metrics (date, daily_revenue, orders_count) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE daily_revenue = VALUES(daily_revenue), orders_count = VALUES(orders_count)";
+
+    private static final String DAILY_METRICS_SQL =
+            "SELECT date, daily_revenue, orders_count FROM financial_metrics WHERE date BETWEEN ? AND ?";
+
+    private static final String UPSERT_ROLLUP_SQL =
+            "INSERT INTO financial_metric_rollups (granularity, period_start, revenue, orders_count) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE revenue = VALUES(revenue), orders_count = VALUES(orders_count)";
+
+    private final MetricsBackfillJobRepository metricsBackfillJobRepository;
+    private final MetricsBackfillPartitionRepository metricsBackfillPartitionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${metrics.backfill.parallelism:4}")
+    private int parallelism;
+
+    @Value("${metrics.backfill.partition-days:7}")
+    private int partitionDays;
+
+    @Value("${metrics.backfill.batch-size:500}")
+    private int batchSize;
+
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+    private ExecutorService coordinator;
+    private ExecutorService workers;
+
+    @PostConstruct
+    void startExecutors() {
+        // One job runs at a time; further jobs wait in a short bounded queue
+        coordinator = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_JOBS), new CustomizableThreadFactory("metrics-backfill-job-"));
+        workers = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                new CustomizableThreadFactory("metrics-backfill-worker-"));
+    }
+
+    @PreDestroy
+    void stopExecutors() {
+        // Interrupted jobs stay RUNNING and are picked up again on the next start
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (MetricsBackfillJob job : metricsBackfillJobRepository.findByStatusInOrderByIdAsc(
+                List.of(BackfillStatus.PENDING, BackfillStatus.RUNNING))) {
+            try {
+                log.info("Resuming metrics backfill job {} ({} to {})", job.getId(), job.getStartDate(), job.getEndDate());
+                submit(job.getId());
+            } catch (IllegalStateException e) {
+                log.warn("Could not resume metrics backfill job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public MetricsBackfillJobDTO startBackfill(LocalDate startDate, LocalDate endDate, String requestedBy) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        if (endDate.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("endDate must not be in the future");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Backfill range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        int daysPerPartition = Math.max(1, partitionDays);
+        MetricsBackfillJob job = transactionTemplate.execute(status -> {
+            List<MetricsBackfillPartition> partitions = new ArrayList<>();
+            for (LocalDate from = startDate; !from.isAfter(endDate); from = from.plusDays(daysPerPartition)) {
+                LocalDate to = from.plusDays(daysPerPartition - 1);
+                partitions.add(MetricsBackfillPartition.builder()
+                        .partitionStart(from)
+                        .partitionEnd(to.isAfter(endDate) ? endDate : to)
+                        .status(BackfillStatus.PENDING)
+                        .attempts(0)
+                        .build());
+            }
+
+            MetricsBackfillJob saved = metricsBackfillJobRepository.save(MetricsBackfillJob.builder()
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .status(BackfillStatus.PENDING)
+                    .totalPartitions(partitions.size())
+                    .failedPartitions(0)
+                    .requestedBy(requestedBy)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            partitions.forEach(partition -> partition.setJobId(saved.getId()));
+            metricsBackfillPartitionRepository.saveAll(partitions);
+            return saved;
+        });
+
+        submit(job.getId());
+        return getBackfillJob(job.getId());
+    }
+
+    @Override
+    public MetricsBackfillJobDTO resumeBackfill(Long jobId) {
+        MetricsBackfillJob job = metricsBackfillJobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Backfill job not found"));
+        if (job.getStatus() == BackfillStatus.COMPLETED) {
+            throw new IllegalStateException("Backfill job " + jobId + " has already completed");
+        }
+        submit(jobId);
+        return getBackfillJob(jobId);
+    }
+
+    @Override
+    public MetricsBackfillJobDTO getBackfillJob(Long jobId) {
+        return metricsBackfillJobRepository.findById(jobId)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new EntityNotFoundException("Backfill job not found"));
+    }
+
+    @Override
+    public List<MetricsBackfillJobDTO> getRecentBackfillJobs() {
+        return metricsBackfillJobRepository.findTop20ByOrderByIdDesc().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private void submit(Long jobId) {
+        if (!activeJobs.add(jobId)) {
+            throw new IllegalStateException("Backfill job " + jobId + " is already queued or running");
+        }
+        try {
+            coordinator.execute(() -> runJob(jobId));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(jobId);
+            throw new IllegalStateException("Too many backfill jobs queued, try again later");
+        }
+    }
+
+    private void runJob(Long jobId) {
+        try {
+            MetricsBackfillJob job = metricsBackfillJobRepository.findById(jobId)
+                    .orElseThrow(() -> new EntityNotFoundException("Backfill job not found"));
+            job.setStatus(BackfillStatus.RUNNING);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+            }
+            job.setFinishedAt(null);
+            job.setLastError(null);
+            metricsBackfillJobRepository.save(job);
+
+            List<MetricsBackfillPartition> pending = metricsBackfillPartitionRepository
+                    .findByJobIdAndStatusNotOrderByPartitionStartAsc(jobId, BackfillStatus.COMPLETED);
+
+            // The semaphore keeps at most `parallelism` partitions in flight, so the worker queue stays short
+            Semaphore permits = new Semaphore(Math.max(1, parallelism));
+            List<Future<String>> results = new ArrayList<>(pending.size());
+            for (MetricsBackfillPartition partition : pending) {
+                permits.acquire();
+                try {
+                    results.add(workers.submit(() -> {
+                        try {
+                            return processPartition(partition);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+
+            int failed = 0;
+            String lastError = null;
+            for (Future<String> result : results) {
+                String error = result.get();
+                if (error != null) {
+                    failed++;
+                    lastError = error;
+                }
+            }
+
+            if (failed == 0) {
+                rebuildRollups(job.getStartDate(), job.getEndDate());
+            }
+
+            MetricsBackfillJob finished = metricsBackfillJobRepository.findById(jobId).orElseThrow();
+            finished.setFailedPartitions(failed);
+            finished.setLastError(lastError);
+            finished.setStatus(failed == 0 ? BackfillStatus.COMPLETED : BackfillStatus.FAILED);
+            finished.setFinishedAt(LocalDateTime.now());
+            metricsBackfillJobRepository.save(finished);
+            log.info("Metrics backfill job {} finished with {} failed partition(s)", jobId, failed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Metrics backfill job {} interrupted, it will resume on next start", jobId);
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Metrics backfill job {} failed: {}", jobId, e.getMessage());
+            markJobFailed(jobId, e.getMessage());
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Recomputes one partition. Returns null on success or the error message on failure.
+     */
+    private String processPartition(MetricsBackfillPartition partition) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> recomputePartition(partition));
+            return null;
+        } catch (RuntimeException e) {
+            String message = truncate(partition.getPartitionStart() + " to " + partition.getPartitionEnd() +
+                    ": " + e.getMessage());
+            log.error("Metrics backfill partition {} failed: {}", partition.getId(), message);
+            jdbcTemplate.update("UPDATE metrics_backfill_partitions SET status = 'FAILED', " +
+                    "attempts = attempts + 1, last_error = ? WHERE id = ?", message, partition.getId());
+            return message;
+        }
+    }
+
+    private void recomputePartition(MetricsBackfillPartition partition) {
+        Timestamp from = Timestamp.valueOf(partition.getPartitionStart().atStartOfDay());
+        Timestamp to = Timestamp.valueOf(partition.getPartitionEnd().plusDays(1).atStartOfDay());
+
+        Map<LocalDate, BigDecimal> revenueByDay = new HashMap<>();
+        Map<LocalDate, Integer> ordersByDay = new HashMap<>();
+        jdbcTemplate.query(ORDER_TOTALS_SQL, rs -> {
+            LocalDate day = rs.getDate("order_day").toLocalDate();
+            revenueByDay.put(day, rs.getBigDecimal("revenue"));
+            ordersByDay.put(day, rs.getInt("orders_count"));
+        }, from, to);
+
+        // Every day gets a row so stale values on days without orders are reset to zero
+        int chunk = Math.max(1, batchSize);
+        List<Object[]> batch = new ArrayList<>(chunk);
+        for (LocalDate day = partition.getPartitionStart(); !day.isAfter(partition.getPartitionEnd()); day = day.plusDays(1)) {
+            batch.add(new Object[] {
+                    Date.valueOf(day),
+                    revenueByDay.getOrDefault(day, BigDecimal.ZERO),
+                    ordersByDay.getOrDefault(day, 0)
+            });
+            if (batch.size() == chunk) {
+                jdbcTemplate.batchUpdate(UPSERT_METRIC_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_METRIC_SQL, batch);
+        }
+
+        jdbcTemplate.update("UPDATE metrics_backfill_partitions SET status = 'COMPLETED', " +
+                "attempts = attempts + 1, last_error = NULL WHERE id = ?", partition.getId());
+        jdbcTemplate.update("UPDATE metrics_backfill_jobs SET completed_partitions = completed_partitions + 1 " +
+                "WHERE id = ?", partition.getJobId());
+    }
+
+    // Periods start on the same Monday and first of month the live pipeline adds each order to
+    private void rebuildRollups(LocalDate startDate, LocalDate endDate) {
+        LocalDate weekStart = startDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate weekEnd = endDate.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        LocalDate monthStart = startDate.with(TemporalAdjusters.firstDayOfMonth());
+        LocalDate monthEnd = endDate.with(TemporalAdjusters.lastDayOfMonth());
+        LocalDate from = weekStart.isBefore(monthStart) ? weekStart : monthStart;
+        LocalDate to = weekEnd.isAfter(monthEnd) ? weekEnd : monthEnd;
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<LocalDate, BigDecimal> revenueByWeek = new TreeMap<>();
+            Map<LocalDate, Integer> ordersByWeek = new TreeMap<>();
+            Map<LocalDate, BigDecimal> revenueByMonth = new TreeMap<>();
+            Map<LocalDate, Integer> ordersByMonth = new TreeMap<>();
+            jdbcTemplate.query(DAILY_METRICS_SQL, rs -> {
+                LocalDate day = rs.getDate("date").toLocalDate();
+                BigDecimal revenue = rs.getBigDecimal("daily_revenue");
+                int orders = rs.getInt("orders_count");
+                if (!day.isBefore(weekStart) && !day.isAfter(weekEnd)) {
+                    LocalDate week = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                    revenueByWeek.merge(week, revenue, BigDecimal::add);
+                    ordersByWeek.merge(week, orders, Integer::sum);
+                }
+                if (!day.isBefore(monthStart) && !day.isAfter(monthEnd)) {
+                    LocalDate month = day.with(TemporalAdjusters.firstDayOfMonth());
+                    revenueByMonth.merge(month, revenue, BigDecimal::add);
+                    ordersByMonth.merge(month, orders, Integer::sum);
+                }
+            }, Date.valueOf(from), Date.valueOf(to));
+
+            List<Object[]> rows = new ArrayList<>(revenueByWeek.size() + revenueByMonth.size());
+            revenueByWeek.forEach((week, revenue) -> rows.add(new Object[] {
+                    MetricGranularity.WEEK.name(), Date.valueOf(week), revenue, ordersByWeek.get(week)}));
+            revenueByMonth.forEach((month, revenue) -> rows.add(new Object[] {
+                    MetricGranularity.MONTH.name(), Date.valueOf(month), revenue, ordersByMonth.get(month)}));
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, rows);
+            }
+        });
+    }
+
+    private void markJobFailed(Long jobId, String message) {
+        try {
+            jdbcTemplate.update("UPDATE metrics_backfill_jobs SET status = 'FAILED', last_error = ?, " +
+                    "finished_at = ? WHERE id = ?", truncate(message), Timestamp.valueOf(LocalDateTime.now()), jobId);
+        } catch (RuntimeException e) {
+            log.error("Could not mark metrics backfill job {} as failed: {}", jobId, e.getMessage());
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private MetricsBackfillJobDTO convertToDTO(MetricsBackfillJob job) {
+        int completed = job.getCompletedPartitions() != null ? job.getCompletedPartitions() : 0;
+        int total = job.getTotalPartitions();
+        return MetricsBackfillJobDTO.builder()
+                .id(job.getId())
+                .startDate(job.getStartDate())
+                .endDate(job.getEndDate())
+                .status(job.getStatus())
+                .totalPartitions(total)
+                .completedPartitions(completed)
+                .failedPartitions(job.getFailedPartitions())
+                .percentComplete(total > 0 ? completed * 100 / total : 100)
+                .lastError(job.getLastError())
+                .requestedBy(job.getRequestedBy())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
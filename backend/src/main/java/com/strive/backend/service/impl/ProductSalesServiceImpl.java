@@ -0,0 +1,230 @@
+package com.strive.backend.service.impl;
+
+import com.strive.backend.dto.CategorySalesDTO;
+import com.strive.backend.dto.ProductSalesDTO;
+import com.strive.backend.dto.SizeSalesDTO;
+import com.strive.backend.model.Order;
+import com.strive.backend.model.OrderItem;
+import com.strive.backend.repository.CategoryRepository;
+import com.strive.backend.repository.ProductRepository;
+import com.strive.backend.repository.ProductSalesDailyRepository;
+import com.strive.backend.repository.ProductSalesDailyRepository.CategorySalesTotal;
+import com.strive.backend.repository.ProductSalesDailyRepository.ProductSalesTotal;
+import com.strive.backend.repository.StockRepository;
+import com.strive.backend.service.ProductSalesService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains and reads the product_sales_daily rollup. Reports aggregate at most one row per
+ * product, size and day, and resolve names with one scalar lookup per report instead of loading entities.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductSalesServiceImpl implements ProductSalesService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ProductSalesDailyRepository productSalesDailyRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final StockRepository stockRepository;
+
+    @Override
+    @Transactional
+    public void recordOrderSales(Order order) {
+        if (order.getOrderItems() == null || order.getOrderItems().isEmpty()) {
+            return;
+        }
+        LocalDate saleDate = order.getCreatedAt().toLocalDate();
+
+        // Merge repeated lines first; the sorted keys keep row-lock order stable across concurrent orders
+        Map<String, SaleLine> lines = new TreeMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            Integer productId = item.getProductId().intValue();
+            String key = String.format("%010d|%s", productId, item.getSize());
+            SaleLine line = lines.computeIfAbsent(key, k -> new SaleLine(productId, item.getSize()));
+            line.units += item.getQuantity();
+            line.revenue = line.revenue.add(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+
+        Set<Integer> productIds = lines.values().stream().map(line -> line.productId).collect(Collectors.toSet());
+        Map<Integer, Integer> categoryByProduct = new HashMap<>();
+        for (ProductRepository.ProductSummary summary : productRepository.findSummariesByIdIn(productIds)) {
+            categoryByProduct.put(summary.getId(), summary.getCategoryId());
+        }
+
+        for (SaleLine line : lines.values()) {
+            Integer categoryId = categoryByProduct.get(line.productId);
+            productSalesDailyRepository.addSale(saleDate, line.productId, line.size,
+                    categoryId != null ? categoryId.longValue() : null, line.units, line.revenue);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> getTopProducts(LocalDate startDate, LocalDate endDate, RankBy rankBy, int limit) {
+        validateRange(startDate, endDate);
+        Pageable page = PageRequest.of(0, clampLimit(limit));
+        List<ProductSalesTotal> totals = rankBy == RankBy.UNITS
+                ? productSalesDailyRepository.findTopProductsByUnits(startDate, endDate, page)
+                : productSalesDailyRepository.findTopProductsByRevenue(startDate, endDate, page);
+        return toProductSales(totals);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategorySalesDTO> getCategorySales(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        List<CategorySalesTotal> totals = productSalesDailyRepository.sumByCategory(startDate, endDate);
+
+        Set<Long> categoryIds = totals.stream()
+                .map(CategorySalesTotal::getCategoryId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<Long, String> names = new HashMap<>();
+        if (!categoryIds.isEmpty()) {
+            for (CategoryRepository.CategoryName category : categoryRepository.findNamesByIdIn(categoryIds)) {
+                names.put(category.getId(), category.getName());
+            }
+        }
+
+        BigDecimal totalRevenue = totals.stream()
+                .map(CategorySalesTotal::getRevenue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return totals.stream()
+                .map(total -> CategorySalesDTO.builder()
+                        .categoryId(total.getCategoryId())
+                        .categoryName(total.getCategoryId() != null
+                                ? names.getOrDefault(total.getCategoryId(), "Unknown")
+                                : "Uncategorized")
+                        .unitsSold(total.getUnitsSold())
+                        .revenue(total.getRevenue())
+                        .revenueShare(totalRevenue.signum() > 0
+                                ? total.getRevenue().multiply(new BigDecimal(100))
+                                        .divide(totalRevenue, 2, RoundingMode.HALF_UP)
+                                : BigDecimal.ZERO)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> getSellThrough(LocalDate startDate, LocalDate endDate, int limit) {
+        validateRange(startDate, endDate);
+        List<ProductSalesDTO> sold = toProductSales(
+                productSalesDailyRepository.findTopProductsByUnits(startDate, endDate, Pageable.unpaged()));
+        if (sold.isEmpty()) {
+            return sold;
+        }
+
+        Map<Integer, Long> onHand = new HashMap<>();
+        for (StockRepository.ProductStockTotal stock : stockRepository.sumQuantityByProductIds(
+                sold.stream().map(ProductSalesDTO::getProductId).collect(Collectors.toSet()))) {
+            onHand.put(stock.getProductId(), stock.getQuantity());
+        }
+
+        // Sell-through = units sold / (units sold + units still on hand)
+        for (ProductSalesDTO product : sold) {
+            long remaining = onHand.getOrDefault(product.getProductId(), 0L);
+            long received = product.getUnitsSold() + remaining;
+            product.setUnitsOnHand(remaining);
+            product.setSellThroughRate(received > 0
+                    ? BigDecimal.valueOf(product.getUnitsSold() * 100)
+                            .divide(BigDecimal.valueOf(received), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO);
+        }
+
+        return sold.stream()
+                .sorted(Comparator.comparing(ProductSalesDTO::getSellThroughRate).reversed()
+                        .thenComparing(ProductSalesDTO::getUnitsSold, Comparator.reverseOrder()))
+                .limit(clampLimit(limit))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SizeSalesDTO> getSizeSales(Integer productId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return productSalesDailyRepository.sumBySizeForProduct(productId, startDate, endDate).stream()
+                .map(total -> SizeSalesDTO.builder()
+                        .size(total.getSize())
+                        .unitsSold(total.getUnitsSold())
+                        .revenue(total.getRevenue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, Long> getUnitsSoldSince(LocalDate since) {
+        Map<Integer, Long> units = new HashMap<>();
+        for (ProductSalesTotal total : productSalesDailyRepository.findTopProductsByUnits(
+                since, LocalDate.now(), Pageable.unpaged())) {
+            units.put(total.getProductId(), total.getUnitsSold());
+        }
+        return units;
+    }
+
+    private List<ProductSalesDTO> toProductSales(List<ProductSalesTotal> totals) {
+        if (totals.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, ProductRepository.ProductSummary> summaries = new HashMap<>();
+        for (ProductRepository.ProductSummary summary : productRepository.findSummariesByIdIn(
+                totals.stream().map(ProductSalesTotal::getProductId).collect(Collectors.toSet()))) {
+            summaries.put(summary.getId(), summary);
+        }
+
+        List<ProductSalesDTO> result = new ArrayList<>(totals.size());
+        for (ProductSalesTotal total : totals) {
+            ProductRepository.ProductSummary summary = summaries.get(total.getProductId());
+            result.add(ProductSalesDTO.builder()
+                    .productId(total.getProductId())
+                    .productName(summary != null ? summary.getName() : "Deleted product")
+                    .categoryId(summary != null ? summary.getCategoryId() : null)
+                    .unitsSold(total.getUnitsSold())
+                    .revenue(total.getRevenue())
+                    .build());
+        }
+        return result;
+    }
+
+    private static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static class SaleLine {
+        private final Integer productId;
+        private final String size;
+        private int units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        private SaleLine(Integer productId, String size) {
+            this.productId = productId;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.strive.backend.service.impl;
+
+import com.strive.backend.dto.RevenueBucketDTO;
+import com.strive.backend.dto.RevenueSeriesDTO;
+import com.strive.backend.model.FinancialMetric;
+import com.strive.backend.model.FinancialMetricRollup;
+import com.strive.backend.model.MetricGranularity;
+import com.strive.backend.repository.FinancialMetricRepository;
+import com.strive.backend.repository.FinancialMetricRollupRepository;
+import com.strive.backend.repository.FinancialTransactionRepository;
+import com.strive.backend.service.RevenueAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds bucketed revenue series. Hourly buckets are aggregated from financial_transactions over the
+ * (transaction_type, created_at) index, daily buckets come from financial_metrics and weekly/monthly
+ * buckets from financial_metric_rollups, so no request scans more than one row per bucket.
+ */
+@Service
+@RequiredArgsConstructor
+public class RevenueAnalyticsServiceImpl implements RevenueAnalyticsService {
+
+    private static final int MAX_BUCKETS = 1000;
+    private static final int MAX_MOVING_AVERAGE_WINDOW = 90;
+    private static final DateTimeFormatter HOUR_BUCKET_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final FinancialTransactionRepository financialTransactionRepository;
+    private final FinancialMetricRepository financialMetricRepository;
+    private final FinancialMetricRollupRepository financialMetricRollupRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public RevenueSeriesDTO getRevenueSeries(MetricGranularity granularity, LocalDate startDate, LocalDate endDate,
+                                             int movingAverageWindow) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        int window = Math.max(1, Math.min(movingAverageWindow, MAX_MOVING_AVERAGE_WINDOW));
+
+        LocalDateTime firstBucket = alignToBucket(granularity, startDate.atStartOfDay());
+        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+        int bucketCount = 0;
+        for (LocalDateTime bucket = firstBucket; bucket.isBefore(end); bucket = shift(granularity, bucket, 1)) {
+            if (++bucketCount > MAX_BUCKETS) {
+                throw new IllegalArgumentException("Requested range exceeds " + MAX_BUCKETS + " " +
+                        granularity.name().toLowerCase() + " buckets");
+            }
+        }
+
+        // One read covers the moving-average lead-in, the previous period and the requested period
+        int leadIn = window - 1;
+        int totalBuckets = leadIn + 2 * bucketCount;
+        LocalDateTime seriesStart = shift(granularity, firstBucket, -(bucketCount + leadIn));
+        LocalDateTime seriesEnd = shift(granularity, seriesStart, totalBuckets);
+
+        Map<LocalDateTime, BigDecimal> revenueByBucket = new HashMap<>();
+        Map<LocalDateTime, Integer> ordersByBucket = new HashMap<>();
+        loadBuckets(granularity, seriesStart, seriesEnd, revenueByBucket, ordersByBucket);
+
+        // Gap filling: every bucket in the range gets a value, zero when nothing was recorded
+        LocalDateTime[] bucketStarts = new LocalDateTime[totalBuckets];
+        BigDecimal[] revenue = new BigDecimal[totalBuckets];
+        int[] orders = new int[totalBuckets];
+        LocalDateTime bucket = seriesStart;
+        for (int i = 0; i < totalBuckets; i++) {
+            bucketStarts[i] = bucket;
+            revenue[i] = revenueByBucket.getOrDefault(bucket, BigDecimal.ZERO);
+            orders[i] = ordersByBucket.getOrDefault(bucket, 0);
+            bucket = shift(granularity, bucket, 1);
+        }
+
+        int previousOffset = leadIn;
+        int currentOffset = leadIn + bucketCount;
+        List<RevenueBucketDTO> buckets = new ArrayList<>(bucketCount);
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal previousTotalRevenue = BigDecimal.ZERO;
+        int totalOrders = 0;
+        int previousTotalOrders = 0;
+        BigDecimal windowSum = BigDecimal.ZERO;
+        for (int i = currentOffset - leadIn; i < currentOffset; i++) {
+            windowSum = windowSum.add(revenue[i]);
+        }
+
+        for (int i = 0; i < bucketCount; i++) {
+            int current = currentOffset + i;
+            int previous = previousOffset + i;
+            windowSum = windowSum.add(revenue[current]);
+            if (i > 0) {
+                windowSum = windowSum.subtract(revenue[current - window]);
+            }
+
+            buckets.add(RevenueBucketDTO.builder()
+                    .bucketStart(bucketStarts[current])
+                    .revenue(revenue[current])
+                    .ordersCount(orders[current])
+                    .averageOrderValue(orders[current] > 0
+                            ? revenue[current].divide(BigDecimal.valueOf(orders[current]), 2, RoundingMode.HALF_UP)
+                            : BigDecimal.ZERO)
+                    .movingAverageRevenue(windowSum.divide(BigDecimal.valueOf(window), 2, RoundingMode.HALF_UP))
+                    .previousRevenue(revenue[previous])
+                    .previousOrdersCount(orders[previous])
+                    .build());
+
+            totalRevenue = totalRevenue.add(revenue[current]);
+            totalOrders += orders[current];
+            previousTotalRevenue = previousTotalRevenue.add(revenue[previous]);
+            previousTotalOrders += orders[previous];
+        }
+
+        return RevenueSeriesDTO.builder()
+                .granularity(granularity)
+                .start(firstBucket)
+                .end(end)
+                .movingAverageWindow(window)
+                .buckets(buckets)
+                .totalRevenue(totalRevenue)
+                .totalOrders(totalOrders)
+                .previousTotalRevenue(previousTotalRevenue)
+                .previousTotalOrders(previousTotalOrders)
+                .revenueGrowthRate(growthRate(totalRevenue, previousTotalRevenue))
+                .orderGrowthRate(growthRate(BigDecimal.valueOf(totalOrders), BigDecimal.valueOf(previousTotalOrders)))
+                .build();
+    }
+
+    private void loadBuckets(MetricGranularity granularity, LocalDateTime start, LocalDateTime end,
+                             Map<LocalDateTime, BigDecimal> revenueByBucket, Map<LocalDateTime, Integer> ordersByBucket) {
+        switch (granularity) {
+            case HOUR:
+                for (Object[] row : financialTransactionRepository.sumOrderRevenueByHour(start, end)) {
+                    LocalDateTime bucketStart = LocalDateTime.parse((String) row[0], HOUR_BUCKET_FORMAT);
+                    revenueByBucket.put(bucketStart, (BigDecimal) row[1]);
+                    ordersByBucket.put(bucketStart, ((Number) row[2]).intValue());
+                }
+                break;
+            case DAY:
+                for (FinancialMetric metric : financialMetricRepository.findByDateBetweenOrderByDateAsc(
+                        start.toLocalDate(), end.toLocalDate().minusDays(1))) {
+                    revenueByBucket.put(metric.getDate().atStartOfDay(), metric.getDailyRevenue());
+                    ordersByBucket.put(metric.getDate().atStartOfDay(), metric.getOrdersCount());
+                }
+                break;
+            case WEEK:
+            case MONTH:
+                for (FinancialMetricRollup rollup : financialMetricRollupRepository
+                        .findByGranularityAndPeriodStartBetweenOrderByPeriodStartAsc(
+                                granularity, start.toLocalDate(), end.toLocalDate().minusDays(1))) {
+                    revenueByBucket.put(rollup.getPeriodStart().atStartOfDay(), rollup.getRevenue());
+                    ordersByBucket.put(rollup.getPeriodStart().atStartOfDay(), rollup.getOrdersCount());
+                }
+                break;
+        }
+    }
+
+    private static LocalDateTime alignToBucket(MetricGranularity granularity, LocalDateTime time) {
+        switch (granularity) {
+            case HOUR:
+                return time.withMinute(0).withSecond(0).withNano(0);
+            case DAY:
+                return time.toLocalDate().atStartOfDay();
+            case WEEK:
+                return time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            case MONTH:
+                return time.toLocalDate().with(TemporalAdjusters.firstDayOfMonth()).atStartOfDay();
+            default:
+                throw new IllegalArgumentException("Unsupported granularity: " + granularity);
+        }
+    }
+
+    private static LocalDateTime shift(MetricGranularity granularity, LocalDateTime bucket, int buckets) {
+        switch (granularity) {
+            case HOUR:
+                return bucket.plusHours(buckets);
+            case DAY:
+                return bucket.plusDays(buckets);
+            case WEEK:
+                return bucket.plusWeeks(buckets);
+            case MONTH:
+                return bucket.plusMonths(buckets);
+            default:
+                throw new IllegalArgumentException("Unsupported granularity: " + granularity);
+        }
+    }
+
+    private static Integer growthRate(BigDecimal current, BigDecimal previous) {
+        if (previous.compareTo(BigDecimal.ZERO) <= 0) {
+            return 0;
+        }
+        return current.subtract(previous)
+                .multiply(new BigDecimal(100))
+                .divide(previous, 0, RoundingMode.HALF_UP)
+                .intValue();
+    }
+}
@@ -0,0 +1,68 @@
+package com.strive.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reserves blocks from a table of its own, so the shared test database's {@code *_seq} rows are untouched.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IdBlockAllocatorTests {
+
+    @Autowired
+    private IdBlockAllocator idBlockAllocator;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void createIdTable() {
+        jdbcTemplate.execute("CREATE TABLE allocator_test_seq (next_val BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO allocator_test_seq (next_val) VALUES (1)");
+    }
+
+    @Test
+    void reservesBlocksWhileEveryPooledConnectionIsHeld() throws Exception {
+        // Every request holding a connection used to leave none for the id table
+        List<Connection> held = new ArrayList<>();
+        try {
+            int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            for (int i = 0; i < poolSize; i++) {
+                held.add(dataSource.getConnection());
+            }
+
+            long first = CompletableFuture.supplyAsync(() -> idBlockAllocator.allocate("allocator_test_seq", 50))
+                    .get(5, TimeUnit.SECONDS);
+            long second = CompletableFuture.supplyAsync(() -> idBlockAllocator.allocate("allocator_test_seq", 50))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertThat(first).isEqualTo(1);
+            assertThat(second).isEqualTo(51);
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM allocator_test_seq", Long.class)).isEqualTo(101);
+    }
+}
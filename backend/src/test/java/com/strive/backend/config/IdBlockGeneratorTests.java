@@ -0,0 +1,57 @@
+package com.strive.backend.config;
+
+import com.strive.backend.model.OrderItem;
+import com.strive.backend.model.Stock;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdBlockGeneratorTests {
+
+    private final IdBlockAllocator allocator = mock(IdBlockAllocator.class);
+
+    @Test
+    void handsOutTheWholeBlockBeforeReservingTheNext() throws Exception {
+        when(allocator.allocate("stocks_seq", 50)).thenReturn(1000L, 2000L);
+        IdBlockGenerator generator = generator(Stock.class);
+
+        for (int id = 1000; id < 1050; id++) {
+            assertThat(generator.generate(null, null, null, EventType.INSERT)).isEqualTo(id);
+        }
+        verify(allocator, times(1)).allocate("stocks_seq", 50);
+
+        assertThat(generator.generate(null, null, null, EventType.INSERT)).isEqualTo(2000);
+        verify(allocator, times(2)).allocate("stocks_seq", 50);
+    }
+
+    @Test
+    void matchesTheTypeOfTheIdField() throws Exception {
+        when(allocator.allocate("order_items_seq", 50)).thenReturn(7L);
+
+        assertThat(generator(OrderItem.class).generate(null, null, null, EventType.INSERT)).isEqualTo(7L);
+    }
+
+    private IdBlockGenerator generator(Class<?> entity) throws Exception {
+        ConfigurationService configuration = mock(ConfigurationService.class);
+        when(configuration.getSettings()).thenReturn(Map.of(IdBlockConfig.ALLOCATOR_SETTING, allocator));
+        ServiceRegistry serviceRegistry = mock(ServiceRegistry.class);
+        when(serviceRegistry.requireService(ConfigurationService.class)).thenReturn(configuration);
+        GeneratorCreationContext context = mock(GeneratorCreationContext.class);
+        when(context.getServiceRegistry()).thenReturn(serviceRegistry);
+        Field id = entity.getDeclaredField("id");
+        IdBlockGenerator generator = new IdBlockGenerator();
+        generator.initialize(id.getAnnotation(IdBlockSequence.class), id, context);
+        return generator;
+    }
+}
@@ -0,0 +1,87 @@
+package com.strive.backend.controller;
+
+import com.strive.backend.monitoring.QueryBudgetFilter;
+import com.strive.backend.monitoring.QueryCountingStatementInspector;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A conditional GET of a product is answered from narrow projections: a matching tag gets a 304 without
+ * reading any image bytes, and a change to a child row gives a new tag.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductETagTests {
+
+    private static final int ID = 8101;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (?, 'Tagged')", ID);
+        jdbcTemplate.update("INSERT INTO products (id, name, description, price, category_id) " +
+                "VALUES (?, 'Tagged', 'Test product', 20.00, ?)", ID, ID);
+        jdbcTemplate.update("INSERT INTO product_images (product_id, image_data, image_type, display_order) " +
+                "VALUES (?, ?, 'image/png', 1)", ID, new byte[] {1, 2, 3});
+        jdbcTemplate.update("INSERT INTO stocks (id, product_id, size, quantity) VALUES (?, ?, 'M', 10)", ID, ID);
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) " +
+                "VALUES (?, 'etag@test.local', 'x', 'Etag', 'Test')", ID);
+    }
+
+    @Test
+    void matchingTagIsAnsweredWithoutReadingImages() throws Exception {
+        String etag = currentTag();
+        // Otherwise the images would come from the second-level cache the full GET filled
+        entityManagerFactory.getCache().evictAll();
+
+        MvcResult result = mockMvc.perform(get("/api/products/{id}", ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        QueryCountingStatementInspector.Counts counts = (QueryCountingStatementInspector.Counts)
+                result.getRequest().getAttribute(QueryBudgetFilter.COUNTS_ATTRIBUTE);
+        assertThat(counts.getByShape().keySet()).noneMatch(sql -> sql.contains("image_data"));
+    }
+
+    @Test
+    void newReviewChangesTheTag() throws Exception {
+        String before = currentTag();
+
+        jdbcTemplate.update("INSERT INTO reviews (product_id, user_id, rating, comment) VALUES (?, ?, 4, 'Fine')",
+                ID, ID);
+
+        mockMvc.perform(get("/api/products/{id}", ID).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+        assertThat(currentTag()).isNotEqualTo(before);
+    }
+
+    private String currentTag() throws Exception {
+        return mockMvc.perform(get("/api/products/{id}", ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,120 @@
+package com.strive.backend.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full product and banner edits must name the version they were made on: without one they get a 428,
+ * and against a version someone else has since replaced they get a 409 and change nothing.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(roles = "ADMIN")
+class VersionedUpdateTests {
+
+    private static final int CATEGORY_ID = 8001;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (?, 'Versioned')", CATEGORY_ID);
+        for (int id = 8001; id <= 8002; id++) {
+            jdbcTemplate.update("INSERT INTO products (id, name, description, price, category_id) " +
+                    "VALUES (?, 'Original', 'Test product', 20.00, ?)", id, CATEGORY_ID);
+            jdbcTemplate.update("INSERT INTO promotional_banners (id, title, subtitle, highlight, icon, " +
+                    "background_color, display_order) VALUES (?, 'Original', 'Sub', 'Highlight', 'star', '#000', ?)",
+                    id, id);
+        }
+    }
+
+    @Test
+    void productEditWithoutAVersionIsRefused() throws Exception {
+        editProduct(8001, "Renamed", null)
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.status").value("error"));
+
+        assertThat(column("products", "name", 8001)).isEqualTo("Original");
+    }
+
+    @Test
+    void productEditOfAReplacedVersionIsAConflict() throws Exception {
+        long version = version("products", 8002);
+        editProduct(8002, "First edit", version)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1));
+
+        editProduct(8002, "Second edit", version)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Product 8002 was changed by someone else. Reload it and try again."));
+
+        assertThat(column("products", "name", 8002)).isEqualTo("First edit");
+        assertThat(version("products", 8002)).isEqualTo(version + 1);
+    }
+
+    @Test
+    void bannerEditWithoutAVersionIsRefused() throws Exception {
+        editBanner(8001, "Renamed", null)
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.status").value("error"));
+
+        assertThat(column("promotional_banners", "title", 8001)).isEqualTo("Original");
+    }
+
+    @Test
+    void bannerEditOfAReplacedVersionIsAConflict() throws Exception {
+        long version = version("promotional_banners", 8002);
+        editBanner(8002, "First edit", version)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1));
+
+        editBanner(8002, "Second edit", version)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Banner 8002 was changed by someone else. Reload it and try again."));
+
+        assertThat(column("promotional_banners", "title", 8002)).isEqualTo("First edit");
+    }
+
+    private ResultActions editProduct(int id, String name, Long version) throws Exception {
+        return mockMvc.perform(put("/api/products/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"description\":\"Test product\",\"price\":20.0," +
+                        "\"categoryId\":" + CATEGORY_ID + ",\"version\":" + version + "}"));
+    }
+
+    private ResultActions editBanner(int id, String title, Long version) throws Exception {
+        return mockMvc.perform(put("/api/banners/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"" + title + "\",\"subtitle\":\"Sub\",\"highlight\":\"Highlight\"," +
+                        "\"icon\":\"star\",\"backgroundColor\":\"#000\",\"version\":" + version + "}"));
+    }
+
+    private long version(String table, int id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM " + table + " WHERE id = ?", Long.class, id);
+    }
+
+    private String column(String table, String column, int id) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM " + table + " WHERE id = ?", String.class, id);
+    }
+}
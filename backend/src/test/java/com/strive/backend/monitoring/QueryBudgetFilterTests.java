@@ -0,0 +1,85 @@
+package com.strive.backend.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryBudgetFilterTests {
+
+    private final QueryCountingStatementInspector inspector = new QueryCountingStatementInspector();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private QueryBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new QueryBudgetFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxStatements", 5);
+        ReflectionTestUtils.setField(filter, "maxRepeats", 2);
+    }
+
+    @Test
+    void recordsRepeatedStatementShapeOnTheRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/categories");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            for (int id = 1; id <= 3; id++) {
+                inspector.inspect("select * from categories where parent_id = ?");
+            }
+        });
+
+        assertThat(violations(request)).singleElement().asString()
+                .contains("repeated 3 times", "select * from categories where parent_id = ?");
+        assertThat(meterRegistry.get("http.server.requests.query.budget.exceeded").tag("reason", "repeated")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsTotalOverBudget() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            for (int table = 1; table <= 6; table++) {
+                inspector.inspect("select * from table_" + table);
+            }
+        });
+
+        assertThat(violations(request)).singleElement().asString().contains("6 statements, budget is 5");
+    }
+
+    @Test
+    void collapsesInListsIntoOneShape() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            inspector.inspect("select * from stocks where product_id in (?, ?)");
+            inspector.inspect("select * from stocks where product_id in (?,?,?)");
+        });
+
+        QueryCountingStatementInspector.Counts counts =
+                (QueryCountingStatementInspector.Counts) request.getAttribute(QueryBudgetFilter.COUNTS_ATTRIBUTE);
+        assertThat(counts.getByShape()).containsOnlyKeys("select * from stocks where product_id in (?)");
+        assertThat(violations(request)).isNull();
+    }
+
+    @Test
+    void statementsOutsideARequestAreNotCounted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/categories");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> inspector.inspect("select 1"));
+        inspector.inspect("select 2");
+
+        QueryCountingStatementInspector.Counts counts =
+                (QueryCountingStatementInspector.Counts) request.getAttribute(QueryBudgetFilter.COUNTS_ATTRIBUTE);
+        assertThat(counts.getTotal()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> violations(MockHttpServletRequest request) {
+        return (List<String>) request.getAttribute(QueryBudgetFilter.VIOLATIONS_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,134 @@
+package com.strive.backend.monitoring;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls the endpoints that used to load their associations one row at a time and asserts that
+ * {@link QueryBudgetFilter} recorded no violation. Each endpoint gets more rows than
+ * {@code monitoring.query-budget.max-repeats}, so a per-row query would exceed the budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTests {
+
+    private static final int ROWS = 15;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int productId;
+    private int userId;
+
+    @BeforeAll
+    void seed() {
+        for (int root = 1; root <= ROWS; root++) {
+            jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (?, ?)", root, "Root " + root);
+            jdbcTemplate.update("INSERT INTO categories (id, name, parent_id) VALUES (?, ?, ?)",
+                    100 + root, "Child " + root, root);
+        }
+
+        for (int product = 1; product <= ROWS; product++) {
+            jdbcTemplate.update("INSERT INTO products (id, name, description, price, category_id) " +
+                    "VALUES (?, ?, 'Test product', 20.00, ?)", product, "Product " + product, 100 + product);
+        }
+        productId = 1;
+        for (int i = 1; i <= ROWS; i++) {
+            jdbcTemplate.update("INSERT INTO product_images (product_id, image_data, image_type, display_order) " +
+                    "VALUES (?, ?, 'image/png', ?)", productId, new byte[] {1, 2, 3}, i);
+            jdbcTemplate.update("INSERT INTO stocks (id, product_id, size, quantity) VALUES (?, ?, ?, 10)",
+                    i, productId, "S" + i);
+        }
+
+        userId = 1;
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) " +
+                "VALUES (?, 'budget@test.local', 'x', 'Budget', 'Test')", userId);
+        jdbcTemplate.update("INSERT INTO order_addresses (id, recipient_name, recipient_phone, street_address, " +
+                "city, country) VALUES (1, 'Budget Test', '5550000000', '1 Main Street', 'Springfield', 'US')");
+        int itemId = 1;
+        for (int order = 1; order <= ROWS; order++) {
+            jdbcTemplate.update("INSERT INTO orders (id, user_id, address_id, total_amount, payment_method) " +
+                    "VALUES (?, ?, 1, 60.00, 'CREDIT_CARD')", order, userId);
+            for (int line = 0; line < 3; line++) {
+                jdbcTemplate.update("INSERT INTO order_items (id, order_id, product_id, quantity, size, price) " +
+                        "VALUES (?, ?, ?, 1, 'S1', 20.00)", itemId++, order, 1 + (order + line) % ROWS);
+            }
+        }
+        jdbcTemplate.update("INSERT INTO stocks_seq (next_val) VALUES (1000)");
+        jdbcTemplate.update("INSERT INTO order_items_seq (next_val) VALUES (1000)");
+    }
+
+    @Test
+    void categoryTreeStaysWithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNoViolations(result);
+    }
+
+    @Test
+    void productDetailStaysWithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNoViolations(result);
+    }
+
+    @Test
+    @WithMockUser
+    void userOrdersStayWithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/orders/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNoViolations(result);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void streamedOrdersAreCountedOnTheAsyncThread() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/orders"))
+                .andExpect(status().isOk())
+                .andReturn();
+        started.getAsyncResult();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // The page queries run after the filter's first pass has returned
+        QueryCountingStatementInspector.Counts counts = (QueryCountingStatementInspector.Counts)
+                result.getRequest().getAttribute(QueryBudgetFilter.COUNTS_ATTRIBUTE);
+        assertThat(counts.getTotal()).isGreaterThan(0);
+        assertNoViolations(result);
+    }
+
+    private static void assertNoViolations(MvcResult result) {
+        assertThat(result.getRequest().getAttribute(QueryBudgetFilter.COUNTS_ATTRIBUTE))
+                .as("statements were counted")
+                .isNotNull();
+        assertThat(result.getRequest().getAttribute(QueryBudgetFilter.VIOLATIONS_ATTRIBUTE))
+                .as("query budget violations")
+                .isNull();
+    }
+}
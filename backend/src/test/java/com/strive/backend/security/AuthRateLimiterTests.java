@@ -0,0 +1,144 @@
+package com.strive.backend.security;
+
+import com.strive.backend.support.MysqlSchemaPopulator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRateLimiterTests {
+
+    private static final long SECOND_NANOS = 1_000_000_000L;
+    // One second into a 60 second window
+    private static final long WINDOW_START_MILLIS = 1_700_000_040_000L;
+    private static final long NOW_MILLIS = WINDOW_START_MILLIS + 1_000;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:rate-limits-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1");
+        DatabasePopulatorUtils.execute(new MysqlSchemaPopulator(new ClassPathResource("mysql/schema.sql")), dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void allowsTheBurstThenAsksToWaitForTheNextToken() {
+        AuthRateLimiter limiter = limiter(false, 100);
+        AuthRateLimiter.Limit limit = new AuthRateLimiter.Limit(3, 6);
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertThat(limiter.tryAcquire("login:ip:10.0.0.1", limit, 0, NOW_MILLIS)).isZero();
+        }
+        // 6 per minute is one token every 10 seconds
+        assertThat(limiter.tryAcquire("login:ip:10.0.0.1", limit, 0, NOW_MILLIS)).isEqualTo(10);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        AuthRateLimiter limiter = limiter(false, 100);
+        AuthRateLimiter.Limit limit = new AuthRateLimiter.Limit(1, 6);
+        assertThat(limiter.tryAcquire("login:email:a@test.local", limit, 0, NOW_MILLIS)).isZero();
+
+        assertThat(limiter.tryAcquire("login:email:a@test.local", limit, 4 * SECOND_NANOS, NOW_MILLIS)).isEqualTo(6);
+        assertThat(limiter.tryAcquire("login:email:a@test.local", limit, 10 * SECOND_NANOS, NOW_MILLIS)).isZero();
+        assertThat(limiter.tryAcquire("login:email:a@test.local", limit, 10 * SECOND_NANOS, NOW_MILLIS)).isEqualTo(10);
+    }
+
+    @Test
+    void neverRefillsBeyondCapacity() {
+        AuthRateLimiter limiter = limiter(false, 100);
+        AuthRateLimiter.Limit limit = new AuthRateLimiter.Limit(2, 60);
+        long anHourLater = 3600 * SECOND_NANOS;
+
+        assertThat(limiter.tryAcquire("key", limit, anHourLater, NOW_MILLIS)).isZero();
+        assertThat(limiter.tryAcquire("key", limit, anHourLater, NOW_MILLIS)).isZero();
+        assertThat(limiter.tryAcquire("key", limit, anHourLater, NOW_MILLIS)).isPositive();
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        AuthRateLimiter limiter = limiter(false, 100);
+        AuthRateLimiter.Limit limit = new AuthRateLimiter.Limit(1, 1);
+
+        assertThat(limiter.tryAcquire("login:ip:10.0.0.1", limit, 0, NOW_MILLIS)).isZero();
+        assertThat(limiter.tryAcquire("login:ip:10.0.0.1", limit, 0, NOW_MILLIS)).isPositive();
+        assertThat(limiter.tryAcquire("login:ip:10.0.0.2", limit, 0, NOW_MILLIS)).isZero();
+    }
+
+    @Test
+    void admitsNewKeysWhileFullOfActiveBuckets() {
+        AuthRateLimiter limiter = limiter(false, 2);
+        AuthRateLimiter.Limit limit = new AuthRateLimiter.Limit(1, 1);
+        limiter.tryAcquire("first", limit, 0, NOW_MILLIS);
+        limiter.tryAcquire("second", limit, 0, NOW_MILLIS);
+
+        // Neither bucket refills for a minute, so a full map used to turn every new key away
+        for (int key = 0; key < 10; key++) {
+            assertThat(limiter.tryAcquire("new-" + key, limit, 0, NOW_MILLIS)).isZero();
+        }
+        assertThat(limiter.trackedKeys()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void sharedWindowHoldsTheLimitAcrossInstances() {
+        AuthRateLimiter first = limiter(true, 100);
+        AuthRateLimiter second = limiter(true, 100);
+        // Allowance per window is the burst plus one minute of refill: 3
+        AuthRateLimiter.Limit limit = new AuthRateLimiter.Limit(2, 1);
+
+        assertThat(first.tryAcquire("login:email:a@test.local", limit, 0, NOW_MILLIS)).isZero();
+        assertThat(first.tryAcquire("login:email:a@test.local", limit, 0, NOW_MILLIS)).isZero();
+        assertThat(second.tryAcquire("login:email:a@test.local", limit, 0, NOW_MILLIS)).isZero();
+
+        // The second instance's own bucket still has a token, but the window is used up until it ends
+        assertThat(second.tryAcquire("login:email:a@test.local", limit, 0, NOW_MILLIS)).isEqualTo(59);
+    }
+
+    @Test
+    void previousWindowCountsByHowMuchItStillOverlaps() {
+        AuthRateLimiter first = limiter(true, 100);
+        AuthRateLimiter.Limit limit = new AuthRateLimiter.Limit(3, 0);
+        for (int attempt = 0; attempt < 3; attempt++) {
+            first.tryAcquire("key", limit, 0, NOW_MILLIS);
+        }
+
+        // Halfway through the next window the three earlier hits weigh 1.5
+        AuthRateLimiter second = limiter(true, 100);
+        long halfwayMillis = WINDOW_START_MILLIS + 90_000;
+        assertThat(second.tryAcquire("key", limit, 0, halfwayMillis)).isZero();
+        assertThat(second.tryAcquire("key", limit, 0, halfwayMillis)).isPositive();
+    }
+
+    @Test
+    void sharedWindowStoresHashedKeysAndDropsOldWindows() {
+        AuthRateLimiter limiter = limiter(true, 100);
+        AuthRateLimiter.Limit limit = new AuthRateLimiter.Limit(5, 1);
+        limiter.tryAcquire("login:email:a@test.local", limit, 0, NOW_MILLIS);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT limiter_key FROM auth_rate_limits", String.class))
+                .isEqualTo(TokenHashing.sha256Hex("login:email:a@test.local"));
+
+        // Three windows later only the previous and current windows are kept
+        limiter.tryAcquire("login:email:b@test.local", limit, 0, NOW_MILLIS + 180_000);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auth_rate_limits WHERE limiter_key = ?",
+                Integer.class, TokenHashing.sha256Hex("login:email:a@test.local"))).isZero();
+    }
+
+    private AuthRateLimiter limiter(boolean sharedWindow, int maxKeys) {
+        AuthRateLimiter limiter = new AuthRateLimiter();
+        ReflectionTestUtils.setField(limiter, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(limiter, "sharedWindowEnabled", sharedWindow);
+        ReflectionTestUtils.setField(limiter, "maxKeys", maxKeys);
+        limiter.init();
+        return limiter;
+    }
+}
@@ -0,0 +1,119 @@
+package com.strive.backend.security;
+
+import com.strive.backend.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A key store in the middle of a migration: tokens are signed with an EC key, and kid-less HS256 tokens
+ * from before the switch are accepted until the legacy cutoff.
+ */
+class JwtUtilTests {
+
+    private static final Instant CUTOFF = Instant.now().plus(Duration.ofHours(1));
+
+    private final Key hmacKey = Keys.hmacShaKeyFor(
+            "striveSecretKey123456789012345678901234567890".getBytes(StandardCharsets.UTF_8));
+
+    private JwtKeyStore jwtKeyStore;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void createKeyStore() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+
+        jwtKeyStore = new JwtKeyStore();
+        ReflectionTestUtils.setField(jwtKeyStore, "hmacKey", hmacKey);
+        ReflectionTestUtils.setField(jwtKeyStore, "signingKey", keyPair.getPrivate());
+        ReflectionTestUtils.setField(jwtKeyStore, "signingAlgorithm", SignatureAlgorithm.ES256);
+        ReflectionTestUtils.setField(jwtKeyStore, "activeKeyId", "2024-01");
+        ReflectionTestUtils.setField(jwtKeyStore, "verificationKeys", Map.of("2024-01", keyPair.getPublic()));
+        ReflectionTestUtils.setField(jwtKeyStore, "legacyHmacCutoff", CUTOFF);
+        setClock(CUTOFF.minus(Duration.ofMinutes(5)));
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtKeyStore", jwtKeyStore);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 300L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxEntries", 100);
+        jwtUtil.init();
+    }
+
+    @Test
+    void legacyTokenVerifiedBeforeTheCutoffIsRefusedAfterIt() {
+        String legacy = legacyToken();
+        assertThat(jwtUtil.verify(legacy).email()).isEqualTo("legacy@test.local");
+        // Served from the verified cache
+        assertThat(jwtUtil.verify(legacy).email()).isEqualTo("legacy@test.local");
+
+        setClock(CUTOFF.plusSeconds(1));
+
+        assertThatThrownBy(() -> jwtUtil.verify(legacy)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtUtil.verify(legacy)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void tokensFromTheActiveKeyOutliveTheCutoff() {
+        String token = jwtUtil.generateToken(user());
+        assertThat(jwtUtil.verify(token).userId()).isEqualTo(42);
+
+        setClock(CUTOFF.plusSeconds(1));
+
+        assertThat(jwtUtil.verify(token).userId()).isEqualTo(42);
+    }
+
+    @Test
+    void cachedTokenIsRefusedOnceItsKeyIsRemoved() {
+        String token = jwtUtil.generateToken(user());
+        jwtUtil.verify(token);
+
+        ReflectionTestUtils.setField(jwtKeyStore, "verificationKeys", Map.of());
+
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(SignatureException.class)
+                .hasMessageContaining("2024-01");
+    }
+
+    private void setClock(Instant now) {
+        ReflectionTestUtils.setField(jwtKeyStore, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private String legacyToken() {
+        return Jwts.builder()
+                .setClaims(Map.of("id", 7, "email", "legacy@test.local", "role", "CUSTOMER"))
+                .setSubject("legacy@test.local")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + Duration.ofHours(24).toMillis()))
+                .signWith(hmacKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(42);
+        user.setEmail("user@test.local");
+        user.setRole(User.UserRole.CUSTOMER);
+        user.setTokenVersion(0);
+        return user;
+    }
+}
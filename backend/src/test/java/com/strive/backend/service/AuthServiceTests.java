@@ -0,0 +1,76 @@
+package com.strive.backend.service;
+
+import com.strive.backend.dto.LoginRequest;
+import com.strive.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceTests {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String email;
+    private String bcryptHash;
+    private int userId;
+
+    @BeforeEach
+    void createUserWithABcryptHash() {
+        email = "rehash-" + UUID.randomUUID() + "@test.local";
+        bcryptHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, role, token_version) " +
+                "VALUES (?, ?, 'Rehash', 'Test', 'MANAGER', 4)", email, bcryptHash);
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Integer.class, email);
+    }
+
+    @Test
+    void loginUpgradesAnOldHashAndLeavesTheRestOfTheUserAlone() {
+        authService.login(login());
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT password, role, token_version FROM users WHERE id = ?", userId);
+        assertThat((String) row.get("password")).startsWith("{argon2}");
+        assertThat(row.get("role")).isEqualTo("MANAGER");
+        assertThat(row.get("token_version")).isEqualTo(4);
+    }
+
+    @Test
+    void hashChangedSinceItWasVerifiedIsNotReplaced() {
+        // A password reset lands between the login's read and its rehash
+        jdbcTemplate.update("UPDATE users SET password = '{bcrypt}reset', token_version = 5 WHERE id = ?", userId);
+
+        assertThat(userRepository.replacePasswordHash(userId, bcryptHash, "{argon2}rehashed")).isZero();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT password, token_version FROM users WHERE id = ?", userId);
+        assertThat(row.get("password")).isEqualTo("{bcrypt}reset");
+        assertThat(row.get("token_version")).isEqualTo(5);
+    }
+
+    private LoginRequest login() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(PASSWORD);
+        return request;
+    }
+}
@@ -0,0 +1,217 @@
+package com.strive.backend.service;
+
+import com.strive.backend.dto.MetricsBackfillJobDTO;
+import com.strive.backend.model.MetricsBackfillJob.BackfillStatus;
+import com.strive.backend.service.impl.MetricsBackfillServiceImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs backfill jobs against the test database, seven days per partition. Each test works on its own
+ * year so the jobs never recompute each other's days.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MetricsBackfillServiceTests {
+
+    private static final int USER_ID = 7001;
+    private static final AtomicInteger NEXT_ORDER_ID = new AtomicInteger(7001);
+
+    @Autowired
+    private MetricsBackfillService metricsBackfillService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seedCustomer() {
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) " +
+                "VALUES (?, 'backfill@test.local', 'x', 'Backfill', 'Test')", USER_ID);
+        jdbcTemplate.update("INSERT INTO order_addresses (id, recipient_name, recipient_phone, street_address, " +
+                "city, country) VALUES (?, 'Backfill Test', '5550000000', '1 Main Street', 'Springfield', 'US')", USER_ID);
+    }
+
+    @Test
+    void recomputesEveryDayAndRebuildsTheRollups() {
+        // 2021-03-01 is a Monday; ten days make one full and one partial partition
+        order("2021-03-03 09:00:00", "10.00");
+        order("2021-03-03 23:59:59", "15.50");
+        int refunded = order("2021-03-08 12:00:00", "20.00");
+        jdbcTemplate.update("INSERT INTO financial_transactions (order_id, amount, description, transaction_type) " +
+                "VALUES (?, 5.00, 'Refund', 'REFUND')", refunded);
+        jdbcTemplate.update("INSERT INTO financial_metrics (date, daily_revenue, orders_count) " +
+                "VALUES ('2021-03-05', 99.00, 3)");
+
+        MetricsBackfillJobDTO job = finished(metricsBackfillService.startBackfill(
+                LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 10), "admin@test.local"));
+
+        assertThat(job.getStatus()).isEqualTo(BackfillStatus.COMPLETED);
+        assertThat(job.getTotalPartitions()).isEqualTo(2);
+        assertThat(job.getCompletedPartitions()).isEqualTo(2);
+        assertThat(job.getPercentComplete()).isEqualTo(100);
+        assertThat(dailyMetrics("2021-03-01", "2021-03-10")).hasSize(10);
+        assertMetric("2021-03-03", "25.50", 2);
+        // Refunds are not deducted, as in the live pipeline
+        assertMetric("2021-03-08", "20.00", 1);
+        // Days without orders are reset
+        assertMetric("2021-03-05", "0.00", 0);
+        assertRollup("WEEK", "2021-03-01", "25.50", 2);
+        assertRollup("WEEK", "2021-03-08", "20.00", 1);
+        assertRollup("MONTH", "2021-03-01", "45.50", 3);
+    }
+
+    @Test
+    void failedPartitionIsTheOnlyOneRedoneOnResume() {
+        order("2020-06-02 10:00:00", "30.00");
+        // Together these overflow daily_revenue, so the second partition fails
+        int first = order("2020-06-10 10:00:00", "99999999.99");
+        order("2020-06-10 11:00:00", "99999999.99");
+
+        MetricsBackfillJobDTO failed = finished(metricsBackfillService.startBackfill(
+                LocalDate.of(2020, 6, 1), LocalDate.of(2020, 6, 14), "admin@test.local"));
+
+        assertThat(failed.getStatus()).isEqualTo(BackfillStatus.FAILED);
+        assertThat(failed.getCompletedPartitions()).isEqualTo(1);
+        assertThat(failed.getFailedPartitions()).isEqualTo(1);
+        assertThat(failed.getLastError()).startsWith("2020-06-08 to 2020-06-14");
+        assertThat(partitions(failed.getId())).extracting(p -> p.get("status"), p -> p.get("attempts"))
+                .containsExactly(tuple("COMPLETED", 1),
+                        tuple("FAILED", 1));
+        assertMetric("2020-06-02", "30.00", 1);
+        // Rollups are rebuilt only once every partition has completed
+        assertThat(rollupCount("2020-06-01")).isZero();
+
+        jdbcTemplate.update("UPDATE financial_transactions SET amount = 40.00 WHERE order_id = ?", first);
+        jdbcTemplate.update("DELETE FROM financial_transactions WHERE order_id = ?", first + 1);
+        MetricsBackfillJobDTO resumed = finished(metricsBackfillService.resumeBackfill(failed.getId()),
+                failed.getFinishedAt());
+
+        assertThat(resumed.getStatus()).isEqualTo(BackfillStatus.COMPLETED);
+        assertThat(resumed.getCompletedPartitions()).isEqualTo(2);
+        assertThat(resumed.getFailedPartitions()).isZero();
+        assertThat(resumed.getLastError()).isNull();
+        assertThat(partitions(failed.getId())).extracting(p -> p.get("status"), p -> p.get("attempts"))
+                .containsExactly(tuple("COMPLETED", 1),
+                        tuple("COMPLETED", 2));
+        assertMetric("2020-06-10", "40.00", 1);
+        assertRollup("MONTH", "2020-06-01", "70.00", 2);
+    }
+
+    @Test
+    void interruptedJobResumesFromTheFirstUnfinishedPartition() {
+        order("2019-01-09 10:00:00", "12.00");
+        // A value the first partition would reset, had it been recomputed
+        jdbcTemplate.update("INSERT INTO financial_metrics (date, daily_revenue, orders_count) " +
+                "VALUES ('2019-01-02', 42.00, 1)");
+        jdbcTemplate.update("INSERT INTO metrics_backfill_jobs (start_date, end_date, status, total_partitions, " +
+                "completed_partitions, started_at) VALUES ('2019-01-01', '2019-01-14', 'RUNNING', 2, 1, ?)",
+                Timestamp.valueOf("2019-01-15 00:00:00"));
+        long jobId = jdbcTemplate.queryForObject(
+                "SELECT id FROM metrics_backfill_jobs WHERE start_date = '2019-01-01'", Long.class);
+        jdbcTemplate.update("INSERT INTO metrics_backfill_partitions (job_id, partition_start, partition_end, status, " +
+                "attempts) VALUES (?, '2019-01-01', '2019-01-07', 'COMPLETED', 1)", jobId);
+        jdbcTemplate.update("INSERT INTO metrics_backfill_partitions (job_id, partition_start, partition_end, status, " +
+                "attempts) VALUES (?, '2019-01-08', '2019-01-14', 'RUNNING', 0)", jobId);
+
+        ((MetricsBackfillServiceImpl) metricsBackfillService).resumeInterruptedJobs();
+        MetricsBackfillJobDTO job = finished(metricsBackfillService.getBackfillJob(jobId));
+
+        assertThat(job.getStatus()).isEqualTo(BackfillStatus.COMPLETED);
+        assertThat(job.getCompletedPartitions()).isEqualTo(2);
+        assertMetric("2019-01-02", "42.00", 1);
+        assertMetric("2019-01-09", "12.00", 1);
+        assertRollup("MONTH", "2019-01-01", "54.00", 2);
+    }
+
+    @Test
+    void completedJobCannotBeResumed() {
+        MetricsBackfillJobDTO job = finished(metricsBackfillService.startBackfill(
+                LocalDate.of(2018, 1, 1), LocalDate.of(2018, 1, 3), "admin@test.local"));
+
+        assertThatThrownBy(() -> metricsBackfillService.resumeBackfill(job.getId()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertThatThrownBy(() -> metricsBackfillService.startBackfill(
+                LocalDate.of(2018, 2, 2), LocalDate.of(2018, 2, 1), "admin@test.local"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> metricsBackfillService.startBackfill(
+                LocalDate.now(), LocalDate.now().plusDays(1), "admin@test.local"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private int order(String createdAt, String amount) {
+        int orderId = NEXT_ORDER_ID.getAndIncrement();
+        jdbcTemplate.update("INSERT INTO orders (id, user_id, address_id, total_amount, payment_method, created_at) " +
+                "VALUES (?, ?, ?, ?, 'CREDIT_CARD', ?)", orderId, USER_ID, USER_ID, new BigDecimal(amount),
+                Timestamp.valueOf(createdAt));
+        jdbcTemplate.update("INSERT INTO financial_transactions (order_id, amount, description, transaction_type) " +
+                "VALUES (?, ?, 'Order', 'ORDER')", orderId, new BigDecimal(amount));
+        return orderId;
+    }
+
+    private MetricsBackfillJobDTO finished(MetricsBackfillJobDTO started) {
+        return finished(started, null);
+    }
+
+    // A resumed job still shows its previous run until the coordinator picks it up
+    private MetricsBackfillJobDTO finished(MetricsBackfillJobDTO started, LocalDateTime previousFinish) {
+        return await().atMost(Duration.ofSeconds(10))
+                .until(() -> metricsBackfillService.getBackfillJob(started.getId()),
+                        job -> job.getFinishedAt() != null
+                                && (previousFinish == null || job.getFinishedAt().isAfter(previousFinish)));
+    }
+
+    private List<Map<String, Object>> dailyMetrics(String from, String to) {
+        return jdbcTemplate.queryForList("SELECT date FROM financial_metrics WHERE date BETWEEN ? AND ?",
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private List<Map<String, Object>> partitions(long jobId) {
+        return jdbcTemplate.queryForList("SELECT status, attempts FROM metrics_backfill_partitions " +
+                "WHERE job_id = ? ORDER BY partition_start", jobId);
+    }
+
+    private int rollupCount(String periodStart) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM financial_metric_rollups WHERE period_start = ?",
+                Integer.class, Date.valueOf(periodStart));
+    }
+
+    private void assertMetric(String date, String revenue, int orders) {
+        Map<String, Object> metric = jdbcTemplate.queryForMap(
+                "SELECT daily_revenue, orders_count FROM financial_metrics WHERE date = ?", Date.valueOf(date));
+        assertThat((BigDecimal) metric.get("daily_revenue")).isEqualByComparingTo(revenue);
+        assertThat(metric.get("orders_count")).isEqualTo(orders);
+    }
+
+    private void assertRollup(String granularity, String periodStart, String revenue, int orders) {
+        Map<String, Object> rollup = jdbcTemplate.queryForMap("SELECT revenue, orders_count " +
+                "FROM financial_metric_rollups WHERE granularity = ? AND period_start = ?",
+                granularity, Date.valueOf(periodStart));
+        assertThat((BigDecimal) rollup.get("revenue")).isEqualByComparingTo(revenue);
+        assertThat(rollup.get("orders_count")).isEqualTo(orders);
+    }
+}
@@ -0,0 +1,108 @@
+package com.strive.backend.service;
+
+import com.strive.backend.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OptimisticLockRetryTests {
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void retriesInAFreshTransactionUntilTheWriteGoesThrough() {
+        AtomicInteger attempts = new AtomicInteger();
+        List<Boolean> inTransaction = new ArrayList<>();
+
+        String result = optimisticLockRetry.execute("test.succeeds", () -> {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("concurrent update");
+            }
+            return "saved";
+        });
+
+        assertThat(result).isEqualTo("saved");
+        assertThat(inTransaction).containsExactly(true, true, true);
+        assertThat(retries("test.succeeds")).isEqualTo(2);
+    }
+
+    @Test
+    void givesUpAfterTheConfiguredAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> optimisticLockRetry.execute("test.gives.up", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("concurrent update");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(attempts).hasValue(3);
+        assertThat(retries("test.gives.up")).isEqualTo(2);
+    }
+
+    @Test
+    void exhaustedRetriesReachTheClientAsAConflict() {
+        ResponseEntity<Map<String, String>> response = new GlobalExceptionHandler()
+                .handleConflictException(new OptimisticLockingFailureException("concurrent update"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).containsEntry("status", "error")
+                .containsEntry("message", "This record was changed by someone else. Reload it and try again.");
+    }
+
+    @Test
+    void doesNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> optimisticLockRetry.execute("test.other", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("not a conflict");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void runsOnceInsideTheCallersTransaction() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                optimisticLockRetry.execute("test.nested", () -> {
+                    attempts.incrementAndGet();
+                    throw new OptimisticLockingFailureException("concurrent update");
+                }))).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(attempts).hasValue(1);
+        assertThat(retries("test.nested")).isZero();
+    }
+
+    private double retries(String operation) {
+        Counter counter = meterRegistry.find("persistence.optimistic.lock.retries").tag("operation", operation).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
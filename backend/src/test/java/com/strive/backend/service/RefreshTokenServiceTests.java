@@ -0,0 +1,141 @@
+package com.strive.backend.service;
+
+import com.strive.backend.model.User;
+import com.strive.backend.repository.UserRepository;
+import com.strive.backend.security.TokenHashing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenServiceTests {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String email = "refresh-" + UUID.randomUUID() + "@test.local";
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name) VALUES (?, 'x', 'Refresh', 'Test')",
+                email);
+        user = userRepository.findByEmail(email);
+    }
+
+    @Test
+    void rotateReplacesTheTokenWithinItsFamily() {
+        String first = refreshTokenService.issue(user);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+        assertThat(rotation.user().getId()).isEqualTo(user.getId());
+        assertThat(rotation.refreshToken()).isNotEqualTo(first);
+        assertThat(familyOf(rotation.refreshToken())).isEqualTo(familyOf(first));
+        assertThat(jdbcTemplate.queryForObject("SELECT used_at FROM refresh_tokens WHERE token_hash = ?",
+                Timestamp.class, TokenHashing.sha256Hex(first))).isNotNull();
+        // Only the hash is stored
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens WHERE token_hash = ?",
+                Integer.class, first)).isZero();
+    }
+
+    @Test
+    void rotatedTokenCanItselfBeRotated() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).refreshToken();
+
+        String third = refreshTokenService.rotate(second).refreshToken();
+
+        assertThat(familyOf(third)).isEqualTo(familyOf(first));
+    }
+
+    @Test
+    void replayOfAUsedTokenRevokesTheWholeFamily() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).refreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(first))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("already been used");
+
+        // The revocation is committed although rotate failed, so the thief's token is dead as well
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE family_id = ? AND revoked_at IS NULL",
+                Integer.class, familyOf(first))).isZero();
+        assertThatThrownBy(() -> refreshTokenService.rotate(second))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void replayDoesNotTouchOtherFamilies() {
+        String stolen = refreshTokenService.issue(user);
+        refreshTokenService.rotate(stolen);
+        String otherSession = refreshTokenService.issue(user);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(stolen)).isInstanceOf(BadCredentialsException.class);
+
+        assertThat(refreshTokenService.rotate(otherSession).refreshToken()).isNotNull();
+    }
+
+    @Test
+    void expiredTokenIsRefused() {
+        String token = refreshTokenService.issue(user);
+        jdbcTemplate.update("UPDATE refresh_tokens SET expires_at = ? WHERE token_hash = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), TokenHashing.sha256Hex(token));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void unknownTokenIsRefused() {
+        assertThatThrownBy(() -> refreshTokenService.rotate("not-a-token"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("Invalid refresh token");
+    }
+
+    @Test
+    void logoutRevokesTheSession() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).refreshToken();
+
+        refreshTokenService.revoke(second);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(second)).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void revokeAllForUserEndsEverySession() {
+        String phone = refreshTokenService.issue(user);
+        String laptop = refreshTokenService.issue(user);
+
+        refreshTokenService.revokeAllForUser(user.getId());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(phone)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate(laptop)).isInstanceOf(BadCredentialsException.class);
+    }
+
+    private String familyOf(String rawToken) {
+        return jdbcTemplate.queryForObject("SELECT family_id FROM refresh_tokens WHERE token_hash = ?",
+                String.class, TokenHashing.sha256Hex(rawToken));
+    }
+}
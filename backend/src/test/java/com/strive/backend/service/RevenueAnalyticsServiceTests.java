@@ -0,0 +1,302 @@
+package com.strive.backend.service;
+
+import com.strive.backend.dto.RevenueBucketDTO;
+import com.strive.backend.dto.RevenueSeriesDTO;
+import com.strive.backend.model.FinancialMetric;
+import com.strive.backend.model.FinancialMetricRollup;
+import com.strive.backend.model.MetricGranularity;
+import com.strive.backend.repository.FinancialMetricRepository;
+import com.strive.backend.repository.FinancialMetricRollupRepository;
+import com.strive.backend.repository.FinancialTransactionRepository;
+import com.strive.backend.service.impl.RevenueAnalyticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the series arithmetic over in-memory metrics; the repositories return the rows in the range they
+ * are asked for, as the real queries do.
+ */
+class RevenueAnalyticsServiceTests {
+
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final List<FinancialMetric> dailyMetrics = new ArrayList<>();
+    private final List<FinancialMetricRollup> rollups = new ArrayList<>();
+    private final List<Object[]> hourlyRows = new ArrayList<>();
+
+    private FinancialMetricRepository financialMetricRepository;
+    private RevenueAnalyticsService revenueAnalyticsService;
+
+    @BeforeEach
+    void createService() {
+        FinancialTransactionRepository financialTransactionRepository = mock(FinancialTransactionRepository.class);
+        financialMetricRepository = mock(FinancialMetricRepository.class);
+        FinancialMetricRollupRepository financialMetricRollupRepository = mock(FinancialMetricRollupRepository.class);
+
+        when(financialTransactionRepository.sumOrderRevenueByHour(any(), any())).thenAnswer(call -> {
+            LocalDateTime start = call.getArgument(0);
+            LocalDateTime end = call.getArgument(1);
+            return hourlyRows.stream()
+                    .filter(row -> {
+                        LocalDateTime hour = LocalDateTime.parse((String) row[0], HOUR_FORMAT);
+                        return !hour.isBefore(start) && hour.isBefore(end);
+                    })
+                    .toList();
+        });
+        when(financialMetricRepository.findByDateBetweenOrderByDateAsc(any(), any())).thenAnswer(call -> {
+            LocalDate from = call.getArgument(0);
+            LocalDate to = call.getArgument(1);
+            return dailyMetrics.stream()
+                    .filter(metric -> !metric.getDate().isBefore(from) && !metric.getDate().isAfter(to))
+                    .toList();
+        });
+        when(financialMetricRollupRepository.findByGranularityAndPeriodStartBetweenOrderByPeriodStartAsc(
+                any(), any(), any())).thenAnswer(call -> {
+            MetricGranularity granularity = call.getArgument(0);
+            LocalDate from = call.getArgument(1);
+            LocalDate to = call.getArgument(2);
+            return rollups.stream()
+                    .filter(rollup -> rollup.getGranularity() == granularity
+                            && !rollup.getPeriodStart().isBefore(from) && !rollup.getPeriodStart().isAfter(to))
+                    .toList();
+        });
+
+        revenueAnalyticsService = new RevenueAnalyticsServiceImpl(financialTransactionRepository,
+                financialMetricRepository, financialMetricRollupRepository);
+    }
+
+    @Test
+    void emptyRangeIsAllZeroBuckets() {
+        RevenueSeriesDTO series = revenueAnalyticsService.getRevenueSeries(MetricGranularity.DAY,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3), 7);
+
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getBucketStart).containsExactly(
+                LocalDateTime.of(2024, 5, 1, 0, 0), LocalDateTime.of(2024, 5, 2, 0, 0),
+                LocalDateTime.of(2024, 5, 3, 0, 0));
+        assertThat(series.getBuckets()).allSatisfy(bucket -> {
+            assertThat(bucket.getRevenue()).isZero();
+            assertThat(bucket.getOrdersCount()).isZero();
+            assertThat(bucket.getAverageOrderValue()).isZero();
+            assertThat(bucket.getMovingAverageRevenue()).isZero();
+            assertThat(bucket.getPreviousRevenue()).isZero();
+        });
+        assertThat(series.getTotalRevenue()).isZero();
+        assertThat(series.getRevenueGrowthRate()).isZero();
+        assertThat(series.getOrderGrowthRate()).isZero();
+    }
+
+    @Test
+    void singleDayIsOneBucket() {
+        day("2024-05-01", "12.50", 1);
+
+        RevenueSeriesDTO series = revenueAnalyticsService.getRevenueSeries(MetricGranularity.DAY,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 1), 1);
+
+        assertThat(series.getBuckets()).singleElement()
+                .satisfies(bucket -> assertThat(bucket.getRevenue()).isEqualByComparingTo("12.50"));
+        assertThat(series.getEnd()).isEqualTo(LocalDateTime.of(2024, 5, 2, 0, 0));
+    }
+
+    @Test
+    void rejectsInvertedAndOversizedRanges() {
+        assertThatThrownBy(() -> revenueAnalyticsService.getRevenueSeries(MetricGranularity.DAY,
+                LocalDate.of(2024, 5, 2), LocalDate.of(2024, 5, 1), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        // 42 days of hours is 1008 buckets
+        assertThatThrownBy(() -> revenueAnalyticsService.getRevenueSeries(MetricGranularity.HOUR,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 6, 11), 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1000 hour buckets");
+    }
+
+    @Test
+    void daysWithoutMetricsAreFilledWithZero() {
+        day("2024-05-01", "10.00", 1);
+        day("2024-05-03", "30.00", 3);
+
+        RevenueSeriesDTO series = revenueAnalyticsService.getRevenueSeries(MetricGranularity.DAY,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3), 1);
+
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getRevenue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"), BigDecimal.ZERO, new BigDecimal("30.00"));
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getOrdersCount).containsExactly(1, 0, 3);
+        assertThat(series.getBuckets().get(2).getAverageOrderValue()).isEqualByComparingTo("10.00");
+        assertThat(series.getTotalOrders()).isEqualTo(4);
+    }
+
+    @Test
+    void firstBucketsAverageOverTheDaysBeforeTheRange() {
+        day("2024-04-29", "30.00", 1);
+        day("2024-04-30", "60.00", 1);
+        day("2024-05-01", "90.00", 1);
+        day("2024-05-03", "30.00", 1);
+
+        RevenueSeriesDTO series = revenueAnalyticsService.getRevenueSeries(MetricGranularity.DAY,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3), 3);
+
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getMovingAverageRevenue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("60.00"), new BigDecimal("50.00"), new BigDecimal("40.00"));
+    }
+
+    @Test
+    void firstBucketsCountEmptyLeadInDaysAsZero() {
+        day("2024-05-01", "90.00", 1);
+        day("2024-05-02", "30.00", 1);
+
+        RevenueSeriesDTO series = revenueAnalyticsService.getRevenueSeries(MetricGranularity.DAY,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 2), 3);
+
+        // Divided by the whole window, not by the days that happen to have data
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getMovingAverageRevenue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("30.00"), new BigDecimal("40.00"));
+    }
+
+    @Test
+    void movingAverageWindowIsClamped() {
+        day("2024-05-01", "12.00", 1);
+
+        RevenueSeriesDTO single = revenueAnalyticsService.getRevenueSeries(MetricGranularity.DAY,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 1), 0);
+        assertThat(single.getMovingAverageWindow()).isEqualTo(1);
+        assertThat(single.getBuckets().get(0).getMovingAverageRevenue()).isEqualByComparingTo("12.00");
+
+        RevenueSeriesDTO widest = revenueAnalyticsService.getRevenueSeries(MetricGranularity.DAY,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 1), 500);
+        assertThat(widest.getMovingAverageWindow()).isEqualTo(90);
+        // One read: 89 lead-in days, the one previous day and the requested day
+        verify(financialMetricRepository).findByDateBetweenOrderByDateAsc(
+                eq(LocalDate.of(2024, 5, 1).minusDays(90)), eq(LocalDate.of(2024, 5, 1)));
+    }
+
+    @Test
+    void previousPeriodIsTheSameNumberOfBucketsJustBefore() {
+        day("2024-05-05", "10.00", 1);
+        day("2024-05-07", "30.00", 1);
+        day("2024-05-08", "20.00", 1);
+        day("2024-05-10", "40.00", 2);
+
+        RevenueSeriesDTO series = revenueAnalyticsService.getRevenueSeries(MetricGranularity.DAY,
+                LocalDate.of(2024, 5, 8), LocalDate.of(2024, 5, 10), 1);
+
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getPreviousRevenue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"), BigDecimal.ZERO, new BigDecimal("30.00"));
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getPreviousOrdersCount).containsExactly(1, 0, 1);
+        assertThat(series.getPreviousTotalRevenue()).isEqualByComparingTo("40.00");
+        assertThat(series.getTotalRevenue()).isEqualByComparingTo("60.00");
+        assertThat(series.getRevenueGrowthRate()).isEqualTo(50);
+        assertThat(series.getOrderGrowthRate()).isEqualTo(50);
+    }
+
+    @Test
+    void weeksStartOnMondayAcrossTheYearBoundary() {
+        rollup(MetricGranularity.WEEK, "2024-12-16", "20.00", 1);
+        rollup(MetricGranularity.WEEK, "2024-12-23", "40.00", 2);
+        rollup(MetricGranularity.WEEK, "2024-12-30", "100.00", 4);
+        rollup(MetricGranularity.WEEK, "2025-01-06", "50.00", 2);
+
+        // Tuesday to the following Monday touches two weeks
+        RevenueSeriesDTO series = revenueAnalyticsService.getRevenueSeries(MetricGranularity.WEEK,
+                LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 6), 2);
+
+        assertThat(series.getStart()).isEqualTo(LocalDateTime.of(2024, 12, 30, 0, 0));
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getBucketStart).containsExactly(
+                LocalDateTime.of(2024, 12, 30, 0, 0), LocalDateTime.of(2025, 1, 6, 0, 0));
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getPreviousRevenue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("20.00"), new BigDecimal("40.00"));
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getMovingAverageRevenue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("70.00"), new BigDecimal("75.00"));
+
+        // Ending on the Sunday stays within the first week
+        assertThat(revenueAnalyticsService.getRevenueSeries(MetricGranularity.WEEK,
+                LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 5), 1).getBuckets()).hasSize(1);
+    }
+
+    @Test
+    void monthsStartOnTheFirstEvenWhenTheRangeStartsMidMonth() {
+        rollup(MetricGranularity.MONTH, "2023-12-01", "15.00", 1);
+        rollup(MetricGranularity.MONTH, "2024-02-01", "29.00", 1);
+
+        RevenueSeriesDTO series = revenueAnalyticsService.getRevenueSeries(MetricGranularity.MONTH,
+                LocalDate.of(2024, 1, 31), LocalDate.of(2024, 3, 1), 1);
+
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getBucketStart).containsExactly(
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0),
+                LocalDateTime.of(2024, 3, 1, 0, 0));
+        // The previous period is October to December
+        assertThat(series.getBuckets()).extracting(RevenueBucketDTO::getPreviousRevenue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("15.00"));
+        assertThat(series.getBuckets().get(1).getRevenue()).isEqualByComparingTo("29.00");
+    }
+
+    @Test
+    void hourlyBucketsOnDaylightSavingDaysAreTheTwentyFourWallClockHours() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        try {
+            // Clocks skip 02:00 on 2024-03-10 and repeat 01:00 on 2024-11-03 in New York
+            hour("2024-03-10 02:00:00", "20.00", 1);
+            hour("2024-03-10 03:00:00", "30.00", 1);
+            hour("2024-11-03 01:00:00", "40.00", 2);
+
+            RevenueSeriesDTO spring = revenueAnalyticsService.getRevenueSeries(MetricGranularity.HOUR,
+                    LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 10), 1);
+            assertThat(spring.getBuckets()).hasSize(24);
+            assertThat(spring.getBuckets().get(2).getBucketStart()).isEqualTo(LocalDateTime.of(2024, 3, 10, 2, 0));
+            assertThat(spring.getBuckets().get(2).getRevenue()).isEqualByComparingTo("20.00");
+            assertThat(spring.getBuckets().get(3).getRevenue()).isEqualByComparingTo("30.00");
+
+            RevenueSeriesDTO fall = revenueAnalyticsService.getRevenueSeries(MetricGranularity.HOUR,
+                    LocalDate.of(2024, 11, 3), LocalDate.of(2024, 11, 3), 1);
+            assertThat(fall.getBuckets()).hasSize(24);
+            assertThat(fall.getBuckets().get(1).getRevenue()).isEqualByComparingTo("40.00");
+            assertThat(fall.getBuckets().get(2).getBucketStart()).isEqualTo(LocalDateTime.of(2024, 11, 3, 2, 0));
+            assertThat(fall.getTotalOrders()).isEqualTo(2);
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    private void day(String date, String revenue, int orders) {
+        dailyMetrics.add(FinancialMetric.builder()
+                .date(LocalDate.parse(date))
+                .dailyRevenue(new BigDecimal(revenue))
+                .ordersCount(orders)
+                .build());
+    }
+
+    private void rollup(MetricGranularity granularity, String periodStart, String revenue, int orders) {
+        rollups.add(FinancialMetricRollup.builder()
+                .granularity(granularity)
+                .periodStart(LocalDate.parse(periodStart))
+                .revenue(new BigDecimal(revenue))
+                .ordersCount(orders)
+                .build());
+    }
+
+    private void hour(String bucketStart, String revenue, int orders) {
+        hourlyRows.add(new Object[] {bucketStart, new BigDecimal(revenue), (long) orders});
+    }
+}
@@ -0,0 +1,61 @@
+package com.strive.backend.service;
+
+import com.strive.backend.model.User;
+import com.strive.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLookupCacheTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UserLookupCache cache;
+
+    @BeforeEach
+    void createCache() {
+        cache = new UserLookupCache();
+        ReflectionTestUtils.setField(cache, "userRepository", userRepository);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        cache.init();
+
+        User user = new User("cached@test.local", "{bcrypt}hash", "Cached", "User", null, User.UserRole.CUSTOMER);
+        user.setId(42);
+        user.setTokenVersion(3);
+        when(userRepository.findById(42)).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("cached@test.local")).thenReturn(user);
+    }
+
+    @Test
+    void changesToAReturnedUserDoNotReachTheCache() {
+        User first = cache.getById(42);
+        first.setRole(User.UserRole.ADMIN);
+        first.setPassword("{bcrypt}other");
+        first.setTokenVersion(0);
+
+        User second = cache.getById(42);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getRole()).isEqualTo(User.UserRole.CUSTOMER);
+        assertThat(second.getPassword()).isEqualTo("{bcrypt}hash");
+        assertThat(second.getTokenVersion()).isEqualTo(3);
+        verify(userRepository, times(1)).findById(42);
+    }
+
+    @Test
+    void lookupsByEmailAndByIdShareOneSnapshot() {
+        User byEmail = cache.getByEmail("cached@test.local");
+        User byId = cache.getById(42);
+
+        assertThat(byId).isNotSameAs(byEmail).isEqualTo(byEmail);
+        verify(userRepository, times(0)).findById(42);
+    }
+}
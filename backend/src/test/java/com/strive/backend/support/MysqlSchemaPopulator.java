@@ -0,0 +1,54 @@
+package com.strive.backend.support;
+
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.datasource.init.DatabasePopulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the tables from the production {@code schema.sql} so the integration tests run against the same
+ * unique keys and indexes as MySQL. Only the {@code CREATE TABLE}, {@code CREATE INDEX} and
+ * {@code ALTER TABLE} statements are run; the sample data is skipped so each test seeds only what it asserts on.
+ * Stored generated columns are declared as plain generated columns, the one construct H2's MySQL
+ * mode does not accept.
+ */
+public class MysqlSchemaPopulator implements DatabasePopulator {
+
+    private static final Pattern STATEMENT_END = Pattern.compile(";\\s*$", Pattern.MULTILINE);
+    private static final Pattern COMMENT_LINE = Pattern.compile("^\\s*--.*$", Pattern.MULTILINE);
+
+    private final Resource schema;
+
+    public MysqlSchemaPopulator(Resource schema) {
+        this.schema = schema;
+    }
+
+    @Override
+    public void populate(Connection connection) throws SQLException {
+        String script;
+        try {
+            script = schema.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + schema, e);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            // Statements in schema.sql end with a semicolon at the end of a line
+            for (String chunk : STATEMENT_END.split(script)) {
+                String sql = COMMENT_LINE.matcher(chunk).replaceAll("").strip();
+                String upper = sql.toUpperCase(Locale.ROOT);
+                if (upper.startsWith("CREATE TABLE") || upper.startsWith("CREATE INDEX")
+                        || upper.startsWith("CREATE UNIQUE INDEX") || upper.startsWith("ALTER TABLE")) {
+                    statement.execute(sql.replace(") STORED", ")"));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.strive.backend.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+
+import javax.sql.DataSource;
+
+/**
+ * Creates the schema.sql tables in the in-memory H2 database of the {@code test} profile.
+ */
+@Configuration
+@Profile("test")
+public class TestDatabaseConfiguration {
+
+    @Bean
+    public DataSourceInitializer testSchema(DataSource dataSource,
+                                            @Value("classpath:mysql/schema.sql") Resource schema) {
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(new MysqlSchemaPopulator(schema));
+        return initializer;
+    }
+}
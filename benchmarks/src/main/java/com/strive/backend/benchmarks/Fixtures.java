@@ -0,0 +1,144 @@
+package com.strive.backend.benchmarks;
+
+import com.strive.backend.model.Category;
+import com.strive.backend.model.Product;
+import com.strive.backend.model.ProductImage;
+import com.strive.backend.model.Review;
+import com.strive.backend.model.Stock;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Synthetic in-memory data for the benchmarks. Everything is generated from a fixed seed so runs on
+ * different machines measure the same data.
+ */
+public final class Fixtures {
+
+    private static final String[] SIZES = {"XS", "S", "M", "L", "XL", "XXL"};
+    private static final String[] WORDS = {"trail", "alpine", "running", "jacket", "tent", "boots", "helmet",
+            "backpack", "ski", "snowboard", "goggles", "gloves", "fleece", "waterproof", "ultralight"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * Products spread over 50 categories, each with three 16 KB images, six sizes and a few reviews.
+     * Image bytes are shared between products to keep large fixtures in memory; the per-product cost of
+     * encoding them is unaffected.
+     */
+    public static List<Product> products(int count) {
+        Random random = new Random(42);
+        List<byte[]> imageData = List.of(randomBytes(random, 16 * 1024), randomBytes(random, 16 * 1024),
+                randomBytes(random, 16 * 1024));
+
+        List<Product> products = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setName(words(random, 3) + " " + id);
+            product.setDescription(words(random, 20));
+            product.setPrice(5 + random.nextInt(50_000) / 100.0);
+            product.setCategoryId(1 + random.nextInt(50));
+
+            for (int i = 0; i < imageData.size(); i++) {
+                ProductImage image = new ProductImage();
+                image.setId(id * 10 + i);
+                image.setImageData(imageData.get(i));
+                image.setImageType("image/jpeg");
+                image.setDisplayOrder(i + 1);
+                product.getImages().add(image);
+            }
+            for (int i = 0; i < SIZES.length; i++) {
+                Stock stock = new Stock();
+                stock.setId(id * 10 + i);
+                stock.setSize(SIZES[i]);
+                stock.setQuantity(random.nextInt(4) == 0 ? 0 : random.nextInt(100));
+                product.getStocks().add(stock);
+            }
+            int reviewCount = random.nextInt(6);
+            for (int i = 0; i < reviewCount; i++) {
+                Review review = new Review();
+                review.setId(id * 10 + i);
+                review.setProductId(id);
+                review.setRating(1 + random.nextInt(5));
+                product.getReviews().add(review);
+            }
+            products.add(product);
+        }
+        return products;
+    }
+
+    /**
+     * A category tree with the given number of roots, each with {@code childrenPerNode} children per
+     * level down to {@code depth} levels. Every category has a 4 KB image, like the seeded data.
+     */
+    public static List<Category> categoryTree(int roots, int childrenPerNode, int depth) {
+        Random random = new Random(42);
+        byte[] image = randomBytes(random, 4 * 1024);
+        long[] nextId = {1};
+        List<Category> rootCategories = new ArrayList<>();
+        for (int i = 0; i < roots; i++) {
+            rootCategories.add(category(nextId, null, image, childrenPerNode, depth));
+        }
+        return rootCategories;
+    }
+
+    private static Category category(long[] nextId, Category parent, byte[] image, int childrenPerNode, int depth) {
+        Category category = new Category();
+        category.setId(nextId[0]++);
+        category.setName("Category " + category.getId());
+        category.setParent(parent);
+        category.setImageData(image);
+        category.setImageType("image/png");
+        if (depth > 1) {
+            for (int i = 0; i < childrenPerNode; i++) {
+                category.getChildren().add(category(nextId, category, image, childrenPerNode, depth - 1));
+            }
+        }
+        return category;
+    }
+
+    /**
+     * Implements a repository or service interface with the given methods, by name. Any other call fails,
+     * so a benchmark cannot silently measure an unstubbed path.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> implementation = methods.get(method.getName());
+            if (implementation != null) {
+                return implementation.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+        });
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,91 @@
+package com.strive.backend.security;
+
+import com.strive.backend.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of the previous JWT check, which rebuilt the key and parser and
+ * parsed the token three times, with {@link JwtUtil#verify} on a cache miss and on a cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "striveSecretKey123456789012345678901234567890";
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = newJwtUtil(10_000);
+        uncachedJwtUtil = newJwtUtil(0);
+
+        User user = new User("bench@strive.com", "x", "Bench", "User", null, User.UserRole.CUSTOMER);
+        user.setId(42);
+        token = cachingJwtUtil.generateToken(user);
+        cachingJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public boolean previousTripleParse() {
+        String email = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(email)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public JwtClaims singleParse() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public JwtClaims cachedVerify() {
+        return cachingJwtUtil.verify(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    private static JwtUtil newJwtUtil(int verifiedCacheMaxEntries) {
+        JwtKeyStore jwtKeyStore = new JwtKeyStore();
+        ReflectionTestUtils.setField(jwtKeyStore, "secret", SECRET);
+        try {
+            jwtKeyStore.load();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtKeyStore", jwtKeyStore);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 300L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxEntries", verifiedCacheMaxEntries);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
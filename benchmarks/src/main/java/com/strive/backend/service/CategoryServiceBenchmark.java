@@ -0,0 +1,69 @@
+package com.strive.backend.service;
+
+import com.strive.backend.benchmarks.Fixtures;
+import com.strive.backend.dto.CategoryDTO;
+import com.strive.backend.model.Category;
+import com.strive.backend.repository.CategoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the category tree returned by {@link CategoryService#getAllCategories}. The children lookup
+ * made for every node is answered from memory, so this measures the tree and image encoding work;
+ * with a database each node would also cost a query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryServiceBenchmark {
+
+    // Roots, children per node and depth; 8x5x3 is about the size of the seeded catalogue
+    @Param({"8x5x3", "20x8x3", "50x10x3"})
+    private String shape;
+
+    private CategoryService categoryService;
+
+    @Setup
+    public void setUp() {
+        String[] parts = shape.split("x");
+        List<Category> roots = Fixtures.categoryTree(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                Integer.parseInt(parts[2]));
+
+        Map<Long, List<Category>> childrenByParent = new HashMap<>();
+        List<Category> pending = new ArrayList<>(roots);
+        while (!pending.isEmpty()) {
+            Category category = pending.remove(pending.size() - 1);
+            childrenByParent.put(category.getId(), category.getChildren());
+            pending.addAll(category.getChildren());
+        }
+
+        categoryService = new CategoryService();
+        ReflectionTestUtils.setField(categoryService, "categoryRepository", Fixtures.stub(CategoryRepository.class,
+                Map.of("findAllRootCategoriesWithChildren", args -> roots,
+                        "findByParentId", args -> childrenByParent.getOrDefault((Long) args[0], List.of()))));
+    }
+
+    @Benchmark
+    public List<CategoryDTO> getAllCategories() {
+        return categoryService.getAllCategories();
+    }
+}
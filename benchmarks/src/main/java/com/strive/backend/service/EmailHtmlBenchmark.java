@@ -0,0 +1,117 @@
+package com.strive.backend.service;
+
+import com.strive.backend.benchmarks.Fixtures;
+import com.strive.backend.dto.ProductDTO;
+import com.strive.backend.model.OrderItem;
+import com.strive.backend.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the HTML emails in {@link EmailServiceImpl}, including the inline product images, and writes
+ * the finished MIME message to a null stream instead of SMTP. Product lookups are answered from
+ * precomputed DTOs, so the numbers cover HTML building, image decoding and MIME encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailHtmlBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int itemCount;
+
+    private EmailServiceImpl emailService;
+    private List<OrderItem> orderItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ProductService productService = new ProductService();
+        Map<Integer, ProductDTO> productsById = new HashMap<>();
+        for (Product product : Fixtures.products(itemCount)) {
+            productsById.put(product.getId(), productService.convertToDTO(product));
+        }
+
+        orderItems = new ArrayList<>();
+        for (Integer productId : productsById.keySet()) {
+            OrderItem item = new OrderItem();
+            item.setProductId(productId.longValue());
+            item.setQuantity(2);
+            item.setSize("M");
+            item.setPrice(BigDecimal.valueOf(49.99));
+            orderItems.add(item);
+        }
+
+        emailService = new EmailServiceImpl();
+        ReflectionTestUtils.setField(emailService, "emailSender", new SerializingMailSender());
+        ReflectionTestUtils.setField(emailService, "productService", new ProductService() {
+            @Override
+            public ProductDTO getProductById(Integer id) {
+                return productsById.get(id);
+            }
+        });
+        ReflectionTestUtils.setField(emailService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(emailService, "fromEmail", "bench@strive.com");
+        ReflectionTestUtils.setField(emailService, "frontendUrl", "http://localhost:3000");
+    }
+
+    @Benchmark
+    public void welcomeEmail() {
+        emailService.sendWelcomeEmail("customer@strive.com", "Alex");
+    }
+
+    @Benchmark
+    public void orderConfirmationEmail() {
+        emailService.sendHtmlOrderConfirmationEmail("customer@strive.com", "Alex", 1001L, "99.98", orderItems);
+    }
+
+    @Benchmark
+    public void orderDeliveredEmail() {
+        emailService.sendOrderDeliveredEmail("customer@strive.com", "Alex", 1001L, orderItems);
+    }
+
+    /**
+     * Produces the bytes that would go over the wire and discards them.
+     */
+    private static final class SerializingMailSender extends JavaMailSenderImpl {
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            for (MimeMessage message : mimeMessages) {
+                try {
+                    message.saveChanges();
+                    message.writeTo(OutputStream.nullOutputStream());
+                } catch (MessagingException | IOException e) {
+                    throw new MailPreparationException(e);
+                }
+            }
+        }
+    }
+}
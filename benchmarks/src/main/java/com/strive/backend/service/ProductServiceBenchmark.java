@@ -0,0 +1,86 @@
+package com.strive.backend.service;
+
+import com.strive.backend.benchmarks.Fixtures;
+import com.strive.backend.dto.ProductDTO;
+import com.strive.backend.model.Product;
+import com.strive.backend.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService#convertToDTO} for one image-heavy product and {@link ProductService#getPaginatedProducts}
+ * over the whole catalogue, which filters and sorts every product in memory before converting one page.
+ * The repository returns the fixture list, so only the in-memory work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProductServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int productCount;
+
+    private ProductService productService;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = Fixtures.products(productCount);
+        product = products.get(0);
+
+        Map<Integer, Long> unitsSold = new HashMap<>();
+        for (Product p : products) {
+            unitsSold.put(p.getId(), (long) (p.getId() * 7919 % 500));
+        }
+
+        productService = new ProductService();
+        ReflectionTestUtils.setField(productService, "productRepository",
+                Fixtures.stub(ProductRepository.class, Map.of("findAll", args -> products)));
+        ReflectionTestUtils.setField(productService, "productSalesService",
+                Fixtures.stub(ProductSalesService.class, Map.of("getUnitsSoldSince", args -> unitsSold)));
+    }
+
+    @Benchmark
+    public ProductDTO convertToDTO() {
+        return productService.convertToDTO(product);
+    }
+
+    @Benchmark
+    public ProductService.PageResponse<ProductDTO> firstPageUnfiltered() {
+        return productService.getPaginatedProducts(0, 20, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public ProductService.PageResponse<ProductDTO> searchByNameSortedByPrice() {
+        return productService.getPaginatedProducts(0, 20, null, "alpine", null, null, null, null, "price-low-high");
+    }
+
+    @Benchmark
+    public ProductService.PageResponse<ProductDTO> filterCategoriesSizesAndRating() {
+        return productService.getPaginatedProducts(2, 20, "1,2,3,4,5,6,7,8,9,10", null, 20.0, 300.0, 3, "M,L",
+                "rating-high-low");
+    }
+
+    @Benchmark
+    public ProductService.PageResponse<ProductDTO> sortByBestseller() {
+        return productService.getPaginatedProducts(0, 20, null, null, null, null, null, null, "bestseller");
+    }
+}
@@ -95,7 +95,8 @@ const ImageManagementDialog = ({ open, onClose, product, onSave }) => {
             description: product.description,
             price: product.price,
             categoryId: product.categoryId,
-            status: product.status
+            status: product.status,
+            version: product.version
         }));
         
         // First save the reordered images
@@ -127,13 +128,15 @@ const ImageManagementDialog = ({ open, onClose, product, onSave }) => {
                         }
                     }
                 );
-                onSave(response.data.images);
+                onSave(response.data.images, response.data.version);
                 setSelectedFiles([]);
                 setError('');
                 onClose();
             } catch (error) {
                 console.error('Error saving images:', error);
-                setError('Failed to save new images. Please try again.');
+                setError(error.response?.status === 409
+                    ? error.response.data.message
+                    : 'Failed to save new images. Please try again.');
             }
         } else {
             onSave(existingImages);
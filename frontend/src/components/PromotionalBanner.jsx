@@ -22,7 +22,9 @@ const slideIn = keyframes`
     }
 `;
 
-const PromotionalBanner = () => {
+// Pass banners from an already loaded page payload (null while it loads); without the prop the
+// component fetches the active banners itself
+const PromotionalBanner = ({ banners }) => {
     const [activeSlide, setActiveSlide] = useState(0);
     const [isAutoPlaying, setIsAutoPlaying] = useState(true);
     const [promotions, setPromotions] = useState([]);
@@ -39,26 +41,29 @@ const PromotionalBanner = () => {
         AssignmentReturnOutlined: <AssignmentReturnOutlinedIcon sx={{ fontSize: { xs: 24, md: 32 } }} />
     }), []);
 
+    // Transform data to match component format and sort by display order
+    const showBanners = useCallback((data) => {
+        const transformedData = [...data]
+            .sort((a, b) => a.displayOrder - b.displayOrder)
+            .map(banner => ({
+                title: banner.title,
+                subtitle: banner.subtitle,
+                highlight: banner.highlight,
+                icon: iconComponents[banner.icon],
+                backgroundColor: banner.backgroundColor,
+                id: banner.id
+            }));
+
+        setPromotions(transformedData);
+        setLoading(false);
+    }, [iconComponents]);
+
     // Fetch banners from API using useCallback
     const fetchBanners = useCallback(async () => {
         try {
             setLoading(true);
             const data = await bannerService.getActiveBanners();
-
-            // Transform data to match component format and sort by display order
-            const transformedData = data
-                .sort((a, b) => a.displayOrder - b.displayOrder)
-                .map(banner => ({
-                    title: banner.title,
-                    subtitle: banner.subtitle,
-                    highlight: banner.highlight,
-                    icon: iconComponents[banner.icon],
-                    backgroundColor: banner.backgroundColor,
-                    id: banner.id
-                }));
-
-            setPromotions(transformedData);
-            setLoading(false);
+            showBanners(data);
         } catch (err) {
             console.error('Error fetching banners:', err);
             setError('Failed to load promotional banners');
@@ -103,12 +108,16 @@ const PromotionalBanner = () => {
                 }
             ]);
         }
-    }, [iconComponents, setError]);
+    }, [iconComponents, setError, showBanners]);
 
-    // Call fetchBanners on component mount
+    // Use the banners passed in, or fetch them when none were given
     useEffect(() => {
-        fetchBanners();
-    }, [fetchBanners]);
+        if (banners === undefined) {
+            fetchBanners();
+        } else if (banners !== null) {
+            showBanners(banners);
+        }
+    }, [banners, fetchBanners, showBanners]);
 
     useEffect(() => {
         let interval;
@@ -1,4 +1,4 @@
-import React, { createContext, useState, useContext, useEffect } from 'react';
+import React, { createContext, useState, useContext, useEffect, useCallback } from 'react';
 import axios from 'axios';
 
 const AuthContext = createContext(null);
@@ -6,12 +6,32 @@ const AuthContext = createContext(null);
 // Create a custom event for logout
 export const LOGOUT_EVENT = 'app:logout';
 
+const AUTH_API_URL = 'http://localhost:8080/api/auth';
+
+// Renew the access token this many seconds before it expires
+const REFRESH_MARGIN_SECONDS = 30;
+
+// Shared by every caller so concurrent 401s trigger a single refresh; a second
+// refresh with the same token would be treated as reuse and end the session
+let refreshPromise = null;
+
+const getTokenExpiry = (token) => {
+    try {
+        const payload = token.split('.')[1].replace(/-/g, '+').replace(/_/g, '/');
+        return JSON.parse(atob(payload)).exp * 1000;
+    } catch (e) {
+        return 0;
+    }
+};
+
+const readStoredUser = () => {
+    const savedUser = localStorage.getItem('user');
+    return savedUser ? JSON.parse(savedUser) : null;
+};
+
 export const AuthProvider = ({ children }) => {
-    const [user, setUser] = useState(() => {
-        const savedUser = localStorage.getItem('user');
-        return savedUser ? JSON.parse(savedUser) : null;
-    });
-    
+    const [user, setUser] = useState(readStoredUser);
+
     useEffect(() => {
         // Set up axios interceptor for authorization
         const token = user?.token;
@@ -26,37 +46,119 @@ export const AuthProvider = ({ children }) => {
         // Set user data in state and localStorage
         setUser(userData);
         localStorage.setItem('user', JSON.stringify(userData));
-        
+
         // Set authorization header for axios
         axios.defaults.headers.common['Authorization'] = `Bearer ${userData.token}`;
     };
 
+    const clearSession = useCallback(() => {
+        // Clear user data from state and localStorage
+        setUser(null);
+        localStorage.removeItem('user');
+
+        // Remove authorization header
+        delete axios.defaults.headers.common['Authorization'];
+
+        // Dispatch a custom event to notify other components (like CartContext)
+        window.dispatchEvent(new Event(LOGOUT_EVENT));
+    }, []);
+
     const logout = () => {
+        const refreshToken = readStoredUser()?.refreshToken;
+        if (refreshToken) {
+            // Revoke the session server-side; logging out locally does not wait for it
+            axios.post(`${AUTH_API_URL}/logout`, { refreshToken }).catch(() => {});
+        }
         return new Promise((resolve) => {
-            // Clear user data from state and localStorage
-            setUser(null);
-            localStorage.removeItem('user');
-            
-            // Remove authorization header
-            delete axios.defaults.headers.common['Authorization'];
-            
-            // Dispatch a custom event to notify other components (like CartContext)
-            window.dispatchEvent(new Event(LOGOUT_EVENT));
-            
+            clearSession();
             resolve();
         });
     };
 
+    const refreshSession = useCallback(() => {
+        if (!refreshPromise) {
+            // Always read the latest tokens, another tab may already have rotated them
+            const storedUser = readStoredUser();
+            if (!storedUser?.refreshToken) {
+                return Promise.reject(new Error('No refresh token'));
+            }
+            refreshPromise = axios
+                .post(`${AUTH_API_URL}/refresh`, { refreshToken: storedUser.refreshToken })
+                .then(response => {
+                    const refreshedUser = { ...storedUser, ...response.data };
+                    localStorage.setItem('user', JSON.stringify(refreshedUser));
+                    setUser(refreshedUser);
+                    axios.defaults.headers.common['Authorization'] = `Bearer ${refreshedUser.token}`;
+                    return refreshedUser;
+                })
+                .catch(error => {
+                    if (error.response?.status === 401) {
+                        clearSession();
+                    }
+                    throw error;
+                })
+                .finally(() => {
+                    refreshPromise = null;
+                });
+        }
+        return refreshPromise;
+    }, [clearSession]);
+
+    // Renew the access token shortly before it expires
+    useEffect(() => {
+        if (!user?.token || !user?.refreshToken) {
+            return undefined;
+        }
+        const delay = getTokenExpiry(user.token) - Date.now() - REFRESH_MARGIN_SECONDS * 1000;
+        const timer = setTimeout(() => {
+            refreshSession().catch(() => {});
+        }, Math.max(delay, 0));
+        return () => clearTimeout(timer);
+    }, [user, refreshSession]);
+
+    // Pick up tokens rotated or cleared by another tab
+    useEffect(() => {
+        const handleStorage = (e) => {
+            if (e.key === 'user') {
+                setUser(e.newValue ? JSON.parse(e.newValue) : null);
+            }
+        };
+        window.addEventListener('storage', handleStorage);
+        return () => window.removeEventListener('storage', handleStorage);
+    }, []);
+
+    // Retry a request once with a fresh token when the access token was rejected
+    useEffect(() => {
+        const interceptor = axios.interceptors.response.use(
+            response => response,
+            async (error) => {
+                const request = error.config;
+                if (error.response?.status !== 401 || !request || request._retried
+                        || request.url?.startsWith(AUTH_API_URL)) {
+                    throw error;
+                }
+                request._retried = true;
+                const refreshedUser = await refreshSession().catch(() => null);
+                if (!refreshedUser) {
+                    throw error;
+                }
+                request.headers = { ...request.headers, Authorization: `Bearer ${refreshedUser.token}` };
+                return axios(request);
+            }
+        );
+        return () => axios.interceptors.response.eject(interceptor);
+    }, [refreshSession]);
+
     // Check if the token is still valid
     const isAuthenticated = () => {
         return !!user;
     };
 
     return (
-        <AuthContext.Provider value={{ user, login, logout, isAuthenticated }}>
+        <AuthContext.Provider value={{ user, login, logout, isAuthenticated, refreshSession }}>
             {children}
         </AuthContext.Provider>
     );
 };
 
-export const useAuth = () => useContext(AuthContext);
\ No newline at end of file
+export const useAuth = () => useContext(AuthContext);
@@ -207,6 +207,9 @@ const Products = () => {
             setOpenStockDialog(false);
         } catch (error) {
             console.error('Error saving stocks:', error);
+            if (error.response?.status === 409) {
+                alert(error.response.data.message);
+            }
         }
     };
 
@@ -270,6 +273,9 @@ const Products = () => {
             setOpenDialog(false);
         } catch (error) {
             console.error('Error saving product:', error);
+            if (error.response?.status === 409) {
+                alert(error.response.data.message);
+            }
         }
     };
 
@@ -560,10 +566,10 @@ const Products = () => {
                 open={openImageDialog}
                 onClose={() => setOpenImageDialog(false)}
                 product={selectedProduct}
-                onSave={(images) => {
+                onSave={(images, version = selectedProduct.version) => {
                     setProducts(products.map(product =>
                         product.id === selectedProduct.id
-                            ? { ...product, images }
+                            ? { ...product, images, version }
                             : product
                     ));
                     setOpenImageDialog(false);
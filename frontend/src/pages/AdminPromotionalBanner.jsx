@@ -164,7 +164,9 @@ const AdminPromotionalBanner = () => {
             const bannerToSubmit = {
                 ...formData,
                 // If editing, preserve the display order, otherwise it will be set by the backend
-                displayOrder: editingBanner ? editingBanner.displayOrder : null
+                displayOrder: editingBanner ? editingBanner.displayOrder : null,
+                // The version the form was loaded from; the backend refuses the edit if it is stale
+                version: editingBanner ? editingBanner.version : null
             };
 
             if (editingBanner) {
@@ -178,7 +180,12 @@ const AdminPromotionalBanner = () => {
             handleClose();
         } catch (error) {
             console.error('Error saving banner:', error);
-            showSnackbar('Error saving banner', 'error');
+            if (error.response?.status === 409) {
+                showSnackbar(error.response.data.message, 'error');
+                fetchBanners();
+            } else {
+                showSnackbar('Error saving banner', 'error');
+            }
             setLoading(false);
         }
     };
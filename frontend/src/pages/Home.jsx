@@ -11,8 +11,7 @@ import StarIcon from '@mui/icons-material/Star';
 import PromotionalBanner from "../components/PromotionalBanner";
 import { useFavorites } from '../context/FavoritesContext';
 import {Helmet} from "react-helmet";
-import { featuredCategoryService } from '../services/featuredCategoryService';
-import axios from 'axios';
+import { storefrontService } from '../services/storefrontService';
 
 const Home = () => {
     const navigate = useNavigate(); // Initialize useNavigate
@@ -25,34 +24,23 @@ const Home = () => {
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
     const [featuredProducts, setFeaturedProducts] = useState([]); // Add state for featured products
+    const [banners, setBanners] = useState(null); // null while the home payload is loading
 
     useEffect(() => {
-        fetchProducts();
-        fetchCategories();
+        fetchHome();
     }, []);
 
-    const fetchProducts = async () => {
-        try {
-            const response = await axios.get('http://localhost:8080/api/products/featured');
-            setFeaturedProducts(response.data);
-        } catch (error) {
-            console.error('Error fetching featured products:', error);
-            setError('Failed to load featured products');
-        }
-    };
-
-    const fetchCategories = async () => {
+    // Banners, featured products and categories all come from one pre-built payload
+    const fetchHome = async () => {
         try {
             setLoading(true);
-            
-            // Fetch both in parallel
-            const [featuredResponse, allCategoriesResponse] = await Promise.all([
-                featuredCategoryService.getAllFeaturedCategories(),
-                axios.get('http://localhost:8080/api/categories')
-            ]);
+            const home = await storefrontService.getHome();
+
+            setFeaturedProducts(home.featuredProducts);
+            setBanners(home.banners);
 
-            const featuredCategories = featuredResponse;
-            const allCategories = allCategoriesResponse.data;
+            const featuredCategories = home.featuredCategories;
+            const allCategories = home.categories;
             
             // Build a map of categories for quick lookup
             const categoryMap = new Map(allCategories.map(cat => [cat.id, cat]));
@@ -86,8 +74,10 @@ const Home = () => {
             setPopularCategories(enhancedCategories);
             setLoading(false);
         } catch (error) {
-            console.error('Error fetching categories:', error);
-            setError('Failed to load categories');
+            console.error('Error fetching home page data:', error);
+            setError('Failed to load the home page');
+            // Let the banner load its own data
+            setBanners(undefined);
             setLoading(false);
         }
     };
@@ -475,7 +465,7 @@ const Home = () => {
                 </Box>
             </Container>
 
-            <PromotionalBanner />
+            <PromotionalBanner banners={banners} />
 
             {/* Featured Products Section */}
             <Container
@@ -23,6 +23,7 @@ import {
     TablePagination,
     TextField,
     InputAdornment,
+    MenuItem,
 } from '@mui/material';
 import {
     TrendingUp,
@@ -63,54 +64,55 @@ const FinancialOverview = () => {
         weeklyRevenueGrowthRate: 0,
     });
     const [activeTab, setActiveTab] = useState(0);
-    const [allTransactions, setAllTransactions] = useState([]);
+    const [transactions, setTransactions] = useState([]);
     const [transactionsLoading, setTransactionsLoading] = useState(false);
     const [weeklyMetrics, setWeeklyMetrics] = useState([]);
     
-    // Pagination for transactions
+    // Keyset pagination for transactions: cursors[n] is the cursor used to load page n
     const [page, setPage] = useState(0);
     const [rowsPerPage, setRowsPerPage] = useState(10);
-    const [searchTerm, setSearchTerm] = useState('');
+    const [cursors, setCursors] = useState([null]);
+    const [hasMore, setHasMore] = useState(false);
+    const [typeFilter, setTypeFilter] = useState('');
+    const [orderIdFilter, setOrderIdFilter] = useState('');
     
     useEffect(() => {
         fetchFinancialData();
-        fetchAllTransactions();
+        fetchWeeklyMetrics();
     }, []);
     
-    // Process daily metrics into weekly metrics
     useEffect(() => {
-        if (financialData.recentMetrics && financialData.recentMetrics.length > 0) {
-            // Group metrics by week
-            const weekMap = new Map();
-            
-            financialData.recentMetrics.forEach(metric => {
-                const date = new Date(metric.date);
-                // Get the start of the week (Sunday)
-                const weekStart = new Date(date);
-                weekStart.setDate(date.getDate() - date.getDay());
-                const weekKey = weekStart.toISOString().split('T')[0];
-                
-                if (!weekMap.has(weekKey)) {
-                    weekMap.set(weekKey, {
-                        weekStart: weekKey,
-                        weekLabel: `Week of ${formatDate(weekStart)}`,
-                        revenue: 0,
-                        orders: 0
-                    });
-                }
-                
-                const weekData = weekMap.get(weekKey);
-                weekData.revenue += Number(metric.dailyRevenue);
-                weekData.orders += metric.ordersCount;
-            });
-            
-            // Convert map to array and sort by date (newest first)
-            const weeklyData = Array.from(weekMap.values())
-                .sort((a, b) => new Date(b.weekStart) - new Date(a.weekStart));
-            
+        fetchTransactionPage(cursors[page]);
+        // eslint-disable-next-line react-hooks/exhaustive-deps
+    }, [page, rowsPerPage, typeFilter, orderIdFilter]);
+    
+    // Weekly buckets come pre-aggregated (and gap-filled) from the analytics endpoint
+    const fetchWeeklyMetrics = async () => {
+        try {
+            const endDate = new Date();
+            const startDate = new Date(endDate);
+            startDate.setDate(endDate.getDate() - 7 * 9);
+            const series = await financialService.getRevenueSeries(
+                'WEEK',
+                startDate.toISOString().split('T')[0],
+                endDate.toISOString().split('T')[0],
+                4
+            );
+            const weeklyData = series.buckets
+                .map(bucket => ({
+                    weekStart: bucket.bucketStart,
+                    weekLabel: `Week of ${formatDate(bucket.bucketStart)}`,
+                    revenue: Number(bucket.revenue),
+                    orders: bucket.ordersCount,
+                    movingAverageRevenue: Number(bucket.movingAverageRevenue)
+                }))
+                // Newest first
+                .reverse();
             setWeeklyMetrics(weeklyData);
+        } catch (err) {
+            console.error('Error fetching weekly metrics:', err);
         }
-    }, [financialData.recentMetrics]);
+    };
     
     const fetchFinancialData = async () => {
         setLoading(true);
@@ -126,18 +128,36 @@ const FinancialOverview = () => {
         }
     };
     
-    const fetchAllTransactions = async () => {
+    const fetchTransactionPage = async (cursor) => {
         setTransactionsLoading(true);
         try {
-            // Using the new endpoint to get all transactions
-            const transactions = await financialService.getAllTransactions();
-            setAllTransactions(transactions);
+            const data = await financialService.getTransactionPage({
+                type: typeFilter || undefined,
+                orderId: orderIdFilter || undefined,
+                beforeCreatedAt: cursor?.createdAt,
+                beforeId: cursor?.id,
+                size: rowsPerPage
+            });
+            setTransactions(data.content);
+            setHasMore(data.hasMore);
+            if (data.hasMore) {
+                setCursors(prev => {
+                    const next = prev.slice(0, page + 1);
+                    next[page + 1] = { createdAt: data.nextCreatedAt, id: data.nextId };
+                    return next;
+                });
+            }
         } catch (err) {
-            console.error('Error fetching all transactions:', err);
+            console.error('Error fetching transactions:', err);
         } finally {
             setTransactionsLoading(false);
         }
     };
+    
+    const resetTransactionPaging = () => {
+        setCursors([null]);
+        setPage(0);
+    };
 
     const handleTabChange = (event, newValue) => {
         setActiveTab(newValue);
@@ -149,33 +169,18 @@ const FinancialOverview = () => {
     
     const handleChangeRowsPerPage = (event) => {
         setRowsPerPage(parseInt(event.target.value, 10));
-        setPage(0);
+        resetTransactionPaging();
     };
     
-    const handleSearchChange = (event) => {
-        setSearchTerm(event.target.value);
-        setPage(0); // Reset to first page when searching
+    const handleTypeFilterChange = (event) => {
+        setTypeFilter(event.target.value);
+        resetTransactionPaging();
     };
     
-    // Filter transactions based on search term
-    const filteredTransactions = allTransactions
-        // Sort by order ID from highest to lowest
-        .sort((a, b) => {
-            // First ensure we're comparing numbers
-            const orderIdA = parseInt(a.orderId) || 0;
-            const orderIdB = parseInt(b.orderId) || 0;
-            // Sort highest to lowest (descending)
-            return orderIdB - orderIdA;
-        })
-        .filter(transaction => 
-            transaction.description.toLowerCase().includes(searchTerm.toLowerCase()) ||
-            transaction.orderId?.toString().includes(searchTerm) ||
-            transaction.transactionType.toLowerCase().includes(searchTerm.toLowerCase())
-        );
-    
-    // Get displayed transactions for the current page
-    const displayedTransactions = filteredTransactions
-        .slice(page * rowsPerPage, page * rowsPerPage + rowsPerPage);
+    const handleOrderIdFilterChange = (event) => {
+        setOrderIdFilter(event.target.value.replace(/\D/g, ''));
+        resetTransactionPaging();
+    };
 
     // Format date to day-month-year format
     const formatDate = (dateString) => {
@@ -187,10 +192,16 @@ const FinancialOverview = () => {
         });
     };
 
-    const handleDownloadReport = () => {
+    const handleDownloadReport = async () => {
         // Generate detailed CSV data
         const metrics = financialData.recentMetrics;
-        const transactions = allTransactions;
+        let transactions = [];
+        try {
+            // The full history is only needed for the export, so load it on demand
+            transactions = await financialService.getAllTransactions();
+        } catch (err) {
+            console.error('Error fetching transactions for report:', err);
+        }
         
         // Create a timestamp for the report
         const timestamp = new Date().toISOString().replace(/[:.]/g, '-');
@@ -202,7 +213,7 @@ const FinancialOverview = () => {
         
         // Weekly metrics data
         const weeklyRows = weeklyMetrics.map(week => 
-            `${week.weekLabel},${week.revenue.toFixed(2)},${week.orders},${(week.revenue / week.orders).toFixed(2)}`
+            `${week.weekLabel},${week.revenue.toFixed(2)},${week.orders},${(week.orders > 0 ? week.revenue / week.orders : 0).toFixed(2)}`
         );
         
         const metricsCSV = [
@@ -303,6 +314,17 @@ const FinancialOverview = () => {
                     borderWidth: 2,
                     tension: 0.4,
                     fill: false,
+                },
+                {
+                    label: '4-Week Moving Average',
+                    data: weeklyMetrics.slice(0, 10).map(week => week.movingAverageRevenue).reverse(),
+                    backgroundColor: theme.palette.secondary.main,
+                    borderColor: theme.palette.secondary.main,
+                    borderWidth: 2,
+                    borderDash: [6, 4],
+                    pointRadius: 0,
+                    tension: 0.4,
+                    fill: false,
                 }
             ],
         };
@@ -422,7 +444,8 @@ const FinancialOverview = () => {
                         startIcon={<Refresh />}
                         onClick={() => {
                             fetchFinancialData();
-                            fetchAllTransactions();
+                            fetchWeeklyMetrics();
+                            fetchTransactionPage(cursors[page]);
                         }}
                     >
                         Refresh
@@ -501,21 +524,36 @@ const FinancialOverview = () => {
                     <Box sx={{ p: 2 }}>
                         <Box sx={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center', mb: 2 }}>
                             <Typography variant="h6">All Transactions</Typography>
-                            <TextField
-                                variant="outlined"
-                                size="small"
-                                placeholder="Search transactions..."
-                                value={searchTerm}
-                                onChange={handleSearchChange}
-                                InputProps={{
-                                    startAdornment: (
-                                        <InputAdornment position="start">
-                                            <SearchIcon fontSize="small" />
-                                        </InputAdornment>
-                                    ),
-                                }}
-                                sx={{ width: 250 }}
-                            />
+                            <Box sx={{ display: 'flex', gap: 2 }}>
+                                <TextField
+                                    select
+                                    variant="outlined"
+                                    size="small"
+                                    label="Type"
+                                    value={typeFilter}
+                                    onChange={handleTypeFilterChange}
+                                    sx={{ width: 140 }}
+                                >
+                                    <MenuItem value="">All</MenuItem>
+                                    <MenuItem value="ORDER">ORDER</MenuItem>
+                                    <MenuItem value="REFUND">REFUND</MenuItem>
+                                </TextField>
+                                <TextField
+                                    variant="outlined"
+                                    size="small"
+                                    placeholder="Order ID"
+                                    value={orderIdFilter}
+                                    onChange={handleOrderIdFilterChange}
+                                    InputProps={{
+                                        startAdornment: (
+                                            <InputAdornment position="start">
+                                                <SearchIcon fontSize="small" />
+                                            </InputAdornment>
+                                        ),
+                                    }}
+                                    sx={{ width: 180 }}
+                                />
+                            </Box>
                         </Box>
                         
                         {transactionsLoading ? (
@@ -536,7 +574,7 @@ const FinancialOverview = () => {
                                             </TableRow>
                                         </TableHead>
                                         <TableBody>
-                                            {displayedTransactions.map((transaction) => (
+                                            {transactions.map((transaction) => (
                                                 <TableRow
                                                     key={transaction.id}
                                                     sx={{ 
@@ -580,7 +618,7 @@ const FinancialOverview = () => {
                                 
                                 <TablePagination
                                     component="div"
-                                    count={filteredTransactions.length}
+                                    count={hasMore ? -1 : page * rowsPerPage + transactions.length}
                                     page={page}
                                     onPageChange={handleChangePage}
                                     rowsPerPage={rowsPerPage}
@@ -948,6 +948,7 @@ const Products = () => {
                                     }}
                                 >
                                     <MenuItem value="default">Default</MenuItem>
+                                    <MenuItem value="bestseller">Best Sellers</MenuItem>
                                     <MenuItem value="price-low-high">Price: Low to High</MenuItem>
                                     <MenuItem value="price-high-low">Price: High to Low</MenuItem>
                                     <MenuItem value="rating-high-low">Rating: High to Low</MenuItem>
@@ -48,7 +48,7 @@ import { addressService } from '../services/addressService';
 import { notificationPreferencesService } from '../services/notificationPreferencesService';
 
 const Profile = () => {
-    const { user, login } = useAuth();
+    const { user, login, refreshSession } = useAuth();
     const [activeTab, setActiveTab] = useState(0);
     const [showSuccess, setShowSuccess] = useState(false);
     const [errorMessage, setErrorMessage] = useState('');
@@ -246,6 +246,11 @@ const Profile = () => {
                 countryCode: responseData.countryCode || '+90'
             });
 
+            // Changing the email revokes the current access token, so fetch one for the new address
+            if (responseData.email && responseData.email !== user.email) {
+                await refreshSession();
+            }
+
             setShowSuccess(true);
             setTimeout(() => setShowSuccess(false), 3000);
         } catch (error) {
@@ -28,6 +28,51 @@ class FinancialService {
             .then(response => response.data);
     }
     
+    getRevenueSeries(granularity, startDate, endDate, movingAverageWindow = 7) {
+        return axios
+            .get(`${API_URL}/analytics/revenue`, {
+                headers: authHeader(),
+                params: { granularity, startDate, endDate, movingAverageWindow }
+            })
+            .then(response => response.data);
+    }
+
+    getTopProducts(startDate, endDate, rankBy = 'REVENUE', limit = 10) {
+        return axios
+            .get(`${API_URL}/sales/top-products`, {
+                headers: authHeader(),
+                params: { startDate, endDate, rankBy, limit }
+            })
+            .then(response => response.data);
+    }
+
+    getCategorySales(startDate, endDate) {
+        return axios
+            .get(`${API_URL}/sales/categories`, {
+                headers: authHeader(),
+                params: { startDate, endDate }
+            })
+            .then(response => response.data);
+    }
+
+    getSellThrough(startDate, endDate, limit = 20) {
+        return axios
+            .get(`${API_URL}/sales/sell-through`, {
+                headers: authHeader(),
+                params: { startDate, endDate, limit }
+            })
+            .then(response => response.data);
+    }
+
+    getTransactionPage({ type, orderId, beforeCreatedAt, beforeId, size = 25 } = {}) {
+        return axios
+            .get(`${API_URL}/transactions/page`, {
+                headers: authHeader(),
+                params: { type, orderId, beforeCreatedAt, beforeId, size }
+            })
+            .then(response => response.data);
+    }
+    
     getAllTransactions() {
         return axios
             .get(`${API_URL}/transactions/all`, { headers: authHeader() })
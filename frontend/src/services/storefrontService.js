@@ -0,0 +1,19 @@
+import axios from 'axios';
+
+const API_URL = 'http://localhost:8080/api/storefront';
+
+export const storefrontService = {
+  /**
+   * Get everything the home page shows in one request
+   * @returns {Promise<Object>} Active banners, featured categories and products, and all categories
+   */
+  getHome: async () => {
+    try {
+      const response = await axios.get(`${API_URL}/home`);
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching storefront home:', error);
+      throw error;
+    }
+  }
+};
@@ -0,0 +1,287 @@
+package com.strive.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the embedded database before any traffic is sent. Rows are written with batched JDBC inserts
+ * rather than through the services, so a large catalogue loads in seconds, and everything is generated
+ * from a fixed seed so runs are comparable. Ids are assigned by the database in insert order, starting
+ * from 1 in every table, except for stocks and order_items: their ids come only from the id block tables,
+ * so they are numbered here and the tables are started after the last one.
+ */
+@Order(1)
+public class CatalogGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogGenerator.class);
+
+    public static final String ADMIN_EMAIL = "admin@loadtest.local";
+    public static final String PASSWORD = "loadtest-password";
+
+    static final String[] SIZES = {"XS", "S", "M", "L", "XL", "XXL"};
+    static final String[] WORDS = {"trail", "alpine", "running", "jacket", "tent", "boots", "helmet",
+            "backpack", "ski", "snowboard", "goggles", "gloves", "fleece", "waterproof", "ultralight"};
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${loadtest.seed.root-categories:8}")
+    private int rootCategories;
+
+    @Value("${loadtest.seed.subcategories-per-root:6}")
+    private int subcategoriesPerRoot;
+
+    @Value("${loadtest.seed.products:5000}")
+    private int products;
+
+    @Value("${loadtest.seed.images-per-product:3}")
+    private int imagesPerProduct;
+
+    @Value("${loadtest.seed.image-bytes:16384}")
+    private int imageBytes;
+
+    @Value("${loadtest.seed.reviews-per-product:4}")
+    private int reviewsPerProduct;
+
+    @Value("${loadtest.seed.users:2000}")
+    private int users;
+
+    @Value("${loadtest.seed.orders:20000}")
+    private int orders;
+
+    @Value("${loadtest.seed.items-per-order:3}")
+    private int itemsPerOrder;
+
+    private final Random random = new Random(42);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        seedUsers();
+        seedCategories();
+        seedProducts();
+        seedReviews();
+        seedOrders();
+        seedIdTables();
+        log.info("Seeded {} categories, {} products, {} users and {} orders in {} ms",
+                getCategoryCount(), products, users + 1, orders, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public static String customerEmail(int index) {
+        return "customer" + index + "@loadtest.local";
+    }
+
+    // Customers have ids 2..users+1; the admin is inserted first
+    public int getCustomerCount() {
+        return users;
+    }
+
+    public int getProductCount() {
+        return products;
+    }
+
+    public int getCategoryCount() {
+        return rootCategories + rootCategories * subcategoriesPerRoot;
+    }
+
+    public int getOrderCount() {
+        return orders;
+    }
+
+    private void seedUsers() {
+        // One hash for everyone; hashing thousands of passwords would dominate the seed time
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{ADMIN_EMAIL, passwordHash, "Load", "Admin", "ADMIN", timestamp(now)});
+        for (int i = 1; i <= users; i++) {
+            rows.add(new Object[]{customerEmail(i), passwordHash, "Customer", String.valueOf(i), "CUSTOMER",
+                    timestamp(daysAgo(730))});
+        }
+        batch("INSERT INTO users (email, password, first_name, last_name, role, token_version, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, 0, ?)", rows);
+    }
+
+    private void seedCategories() {
+        byte[] image = randomBytes(4 * 1024);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= rootCategories; i++) {
+            rows.add(new Object[]{"Category " + i, null, image, timestamp(now)});
+        }
+        for (int root = 1; root <= rootCategories; root++) {
+            for (int i = 1; i <= subcategoriesPerRoot; i++) {
+                rows.add(new Object[]{"Category " + root + "." + i, root, image, timestamp(now)});
+            }
+        }
+        batch("INSERT INTO categories (name, parent_id, image_data, image_type, created_at) "
+                + "VALUES (?, ?, ?, 'image/png', ?)", rows);
+    }
+
+    private void seedProducts() {
+        // A handful of distinct images shared between products; the per-request encoding cost is the same
+        List<byte[]> images = new ArrayList<>();
+        for (int i = 0; i < imagesPerProduct; i++) {
+            images.add(randomBytes(imageBytes));
+        }
+        int firstLeafCategory = rootCategories + 1;
+        int leafCategories = rootCategories * subcategoriesPerRoot;
+
+        List<Object[]> productRows = new ArrayList<>();
+        List<Object[]> imageRows = new ArrayList<>();
+        List<Object[]> stockRows = new ArrayList<>();
+        int stockId = 0;
+        for (int id = 1; id <= products; id++) {
+            int categoryId = leafCategories > 0 ? firstLeafCategory + random.nextInt(leafCategories)
+                    : 1 + random.nextInt(Math.max(rootCategories, 1));
+            LocalDateTime createdAt = daysAgo(365);
+            productRows.add(new Object[]{words(3) + " " + id, words(20), price(), categoryId,
+                    timestamp(createdAt), timestamp(createdAt)});
+            for (int i = 0; i < images.size(); i++) {
+                imageRows.add(new Object[]{id, images.get(i), i + 1, timestamp(createdAt)});
+            }
+            for (String size : SIZES) {
+                // Deep enough that checkouts never run a size out of stock during a run
+                stockRows.add(new Object[]{++stockId, id, size, 1_000_000, timestamp(createdAt)});
+            }
+            if (productRows.size() == BATCH_SIZE) {
+                flushProducts(productRows, imageRows, stockRows);
+            }
+        }
+        flushProducts(productRows, imageRows, stockRows);
+    }
+
+    private void flushProducts(List<Object[]> productRows, List<Object[]> imageRows, List<Object[]> stockRows) {
+        batch("INSERT INTO products (name, description, price, category_id, status, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 'ACTIVE', ?, ?)", productRows);
+        batch("INSERT INTO product_images (product_id, image_data, image_type, display_order, created_at) "
+                + "VALUES (?, ?, 'image/jpeg', ?, ?)", imageRows);
+        batch("INSERT INTO stocks (id, product_id, size, quantity, updated_at) VALUES (?, ?, ?, ?, ?)", stockRows);
+        productRows.clear();
+        imageRows.clear();
+        stockRows.clear();
+    }
+
+    private void seedReviews() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int productId = 1; productId <= products; productId++) {
+            int count = reviewsPerProduct > 0 ? random.nextInt(reviewsPerProduct * 2 + 1) : 0;
+            for (int i = 0; i < count; i++) {
+                rows.add(new Object[]{productId, customerId(), 1 + random.nextInt(5), words(12),
+                        timestamp(daysAgo(365))});
+            }
+        }
+        batch("INSERT INTO reviews (product_id, user_id, rating, comment, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private void seedOrders() {
+        List<Object[]> addressRows = new ArrayList<>();
+        List<Object[]> orderRows = new ArrayList<>();
+        List<Object[]> itemRows = new ArrayList<>();
+        long itemId = 0;
+        for (int orderId = 1; orderId <= orders; orderId++) {
+            LocalDateTime createdAt = daysAgo(365);
+            addressRows.add(new Object[]{"Customer " + orderId, "5550000000", orderId + " Main Street", "Springfield",
+                    "IL", "62701", "US", timestamp(createdAt)});
+
+            BigDecimal total = BigDecimal.ZERO;
+            int itemCount = 1 + random.nextInt(Math.max(itemsPerOrder * 2 - 1, 1));
+            for (int i = 0; i < itemCount; i++) {
+                BigDecimal unitPrice = BigDecimal.valueOf(price()).setScale(2, RoundingMode.HALF_UP);
+                int quantity = 1 + random.nextInt(3);
+                total = total.add(unitPrice.multiply(BigDecimal.valueOf(quantity)));
+                itemRows.add(new Object[]{++itemId, orderId, productId(), quantity, SIZES[random.nextInt(SIZES.length)],
+                        unitPrice, timestamp(createdAt)});
+            }
+            orderRows.add(new Object[]{customerId(), orderId, total, "CREDIT_CARD", "DELIVERED", "COMPLETED",
+                    "4242", timestamp(createdAt), timestamp(createdAt)});
+
+            if (orderRows.size() == BATCH_SIZE) {
+                flushOrders(addressRows, orderRows, itemRows);
+            }
+        }
+        flushOrders(addressRows, orderRows, itemRows);
+    }
+
+    private void flushOrders(List<Object[]> addressRows, List<Object[]> orderRows, List<Object[]> itemRows) {
+        batch("INSERT INTO order_addresses (recipient_name, recipient_phone, street_address, city, state, "
+                + "postal_code, country, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", addressRows);
+        batch("INSERT INTO orders (user_id, address_id, total_amount, payment_method, status, payment_status, "
+                + "card_last_four, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", orderRows);
+        batch("INSERT INTO order_items (id, order_id, product_id, quantity, size, price, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", itemRows);
+        addressRows.clear();
+        orderRows.clear();
+        itemRows.clear();
+    }
+
+    // The schema populator skips the INSERTs at the end of schema.sql, so the id tables start here
+    private void seedIdTables() {
+        for (String table : List.of("stocks", "order_items")) {
+            jdbcTemplate.update("INSERT INTO " + table + "_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM "
+                    + table);
+        }
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private int customerId() {
+        return 2 + random.nextInt(Math.max(users, 1));
+    }
+
+    private int productId() {
+        return 1 + random.nextInt(Math.max(products, 1));
+    }
+
+    private double price() {
+        return 5 + random.nextInt(50_000) / 100.0;
+    }
+
+    private LocalDateTime daysAgo(int maxDays) {
+        return now.minusMinutes(random.nextInt(maxDays * 24 * 60));
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+}
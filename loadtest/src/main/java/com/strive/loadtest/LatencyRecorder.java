@@ -0,0 +1,74 @@
+package com.strive.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the latency of every measured request, grouped by request name, and formats the summary:
+ * count, errors, throughput and latency percentiles. Every sample is kept, so percentiles are exact;
+ * a run of a few minutes at a few thousand requests a second fits comfortably in memory.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Series> seriesByName = new ConcurrentHashMap<>();
+
+    void record(String name, long nanos, boolean error) {
+        seriesByName.computeIfAbsent(name, key -> new Series()).add(nanos, error);
+    }
+
+    String report(double seconds) {
+        StringBuilder report = new StringBuilder(String.format("%n%-24s %8s %7s %9s %9s %9s %9s %9s%n",
+                "request", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        Series total = new Series();
+        for (Map.Entry<String, Series> entry : new TreeMap<>(seriesByName).entrySet()) {
+            entry.getValue().appendTo(report, entry.getKey(), seconds);
+            total.addAll(entry.getValue());
+        }
+        total.appendTo(report, "all", seconds);
+        return report.toString();
+    }
+
+    private static final class Series {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long sample, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = sample;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(Series other) {
+            synchronized (other) {
+                for (int i = 0; i < other.count; i++) {
+                    add(other.nanos[i], false);
+                }
+                errors += other.errors;
+            }
+        }
+
+        synchronized void appendTo(StringBuilder report, String name, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            report.append(String.format("%-24s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, count, errors,
+                    count / seconds, millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99),
+                    millis(sorted, 1.0)));
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.strive.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replays a mix of storefront and back-office traffic against the running application once the
+ * catalogue is seeded. Each virtual user runs sessions back to back with no think time, picking the
+ * kind of session by weight, so the run measures the throughput the server sustains at that
+ * concurrency. Requests made during the warmup are not recorded.
+ */
+@Order(3)
+public class LoadDriver implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    // Responses with an ETag each virtual user keeps for revalidation, like a small browser cache
+    private static final int CACHED_RESPONSES = 8;
+
+    private static final String[] SORTS = {null, "price-low-high", "price-high-low", "name-a-z", "rating-high-low",
+            "bestseller"};
+
+    @Autowired
+    private CatalogGenerator catalog;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.drive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${loadtest.drive.virtual-users:50}")
+    private int virtualUsers;
+
+    @Value("${loadtest.drive.warmup-seconds:15}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.drive.duration-seconds:60}")
+    private int durationSeconds;
+
+    @Value("${loadtest.drive.weight.browse:60}")
+    private int browseWeight;
+
+    @Value("${loadtest.drive.weight.search:25}")
+    private int searchWeight;
+
+    @Value("${loadtest.drive.weight.checkout:10}")
+    private int checkoutWeight;
+
+    @Value("${loadtest.drive.weight.admin:5}")
+    private int adminWeight;
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private HttpClient httpClient;
+    private String baseUrl;
+    private long measureFrom;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        baseUrl = "http://localhost:" + environment.getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        long start = System.nanoTime();
+        measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long deadline = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+        log.info("Driving {} virtual users at {} for {}s after a {}s warmup",
+                virtualUsers, baseUrl, durationSeconds, warmupSeconds);
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < virtualUsers; i++) {
+                int customer = 1 + i % Math.max(catalog.getCustomerCount(), 1);
+                users.submit(() -> new VirtualUser(customer).runUntil(deadline));
+            }
+        }
+
+        double measuredSeconds = (System.nanoTime() - Math.max(measureFrom, start)) / 1_000_000_000.0;
+        log.info("Load test finished: {} virtual users, {}s measured{}", virtualUsers,
+                String.format("%.1f", measuredSeconds), recorder.report(measuredSeconds));
+    }
+
+    private final class VirtualUser {
+
+        private final int customer;
+        private String customerToken;
+        private long customerId;
+        private String adminToken;
+        private final Map<String, CachedResponse> cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > CACHED_RESPONSES;
+            }
+        };
+
+        VirtualUser(int customer) {
+            this.customer = customer;
+        }
+
+        void runUntil(long deadline) {
+            int totalWeight = browseWeight + searchWeight + checkoutWeight + adminWeight;
+            while (System.nanoTime() < deadline) {
+                int pick = ThreadLocalRandom.current().nextInt(Math.max(totalWeight, 1));
+                try {
+                    if ((pick -= browseWeight) < 0) {
+                        browse();
+                    } else if ((pick -= searchWeight) < 0) {
+                        search();
+                    } else if (pick - checkoutWeight < 0) {
+                        checkout();
+                    } else {
+                        admin();
+                    }
+                } catch (IOException e) {
+                    // Recorded as an error by send(); start the next session
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void browse() throws IOException, InterruptedException {
+            get("storefront.home", "/api/storefront/home", null);
+            get("categories", "/api/categories", null);
+            int categoryId = 1 + random(catalog.getCategoryCount());
+            get("products.page", "/api/products/paginated?page=" + random(5) + "&size=12&categoryIds=" + categoryId,
+                    null);
+            get("products.detail", "/api/products/" + (1 + random(catalog.getProductCount())), null);
+        }
+
+        private void search() throws IOException, InterruptedException {
+            StringBuilder query = new StringBuilder("/api/products/paginated?page=0&size=12&name=")
+                    .append(CatalogGenerator.WORDS[random(CatalogGenerator.WORDS.length)]);
+            String sort = SORTS[random(SORTS.length)];
+            if (sort != null) {
+                query.append("&sort=").append(sort);
+            }
+            if (random(2) == 0) {
+                query.append("&sizes=M,L&minPrice=20&maxPrice=300");
+            }
+            get("products.search", query.toString(), null);
+            get("products.detail", "/api/products/" + (1 + random(catalog.getProductCount())), null);
+        }
+
+        private void checkout() throws IOException, InterruptedException {
+            if (customerToken == null) {
+                JsonNode login = login("auth.login", CatalogGenerator.customerEmail(customer));
+                customerToken = login.path("token").asText();
+                customerId = login.path("userId").asLong();
+            }
+            int productId = 1 + random(catalog.getProductCount());
+            JsonNode product = get("products.detail", "/api/products/" + productId, null);
+            BigDecimal price = product.path("price").decimalValue().setScale(2, RoundingMode.HALF_UP);
+            int quantity = 1 + random(2);
+
+            ObjectNode order = objectMapper.createObjectNode();
+            order.put("userId", customerId);
+            order.put("totalAmount", price.multiply(BigDecimal.valueOf(quantity)));
+            order.put("paymentMethod", "CREDIT_CARD");
+            order.put("cardLastFour", "4242");
+            order.put("cardExpiry", "12/30");
+            order.putObject("orderAddress")
+                    .put("recipientName", "Customer " + customer)
+                    .put("recipientPhone", "5550000000")
+                    .put("streetAddress", customer + " Main Street")
+                    .put("city", "Springfield")
+                    .put("postalCode", "62701")
+                    .put("country", "US");
+            ArrayNode items = order.putArray("items");
+            items.addObject()
+                    .put("productId", productId)
+                    .put("quantity", quantity)
+                    .put("size", CatalogGenerator.SIZES[random(CatalogGenerator.SIZES.length)])
+                    .put("price", price);
+            send("orders.create", request("/api/orders", customerToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(order)))
+                    .build());
+        }
+
+        private void admin() throws IOException, InterruptedException {
+            if (adminToken == null) {
+                adminToken = login("auth.login", CatalogGenerator.ADMIN_EMAIL).path("token").asText();
+            }
+            get("orders.list", "/api/orders", adminToken);
+            get("orders.detail", "/api/orders/" + (1 + random(catalog.getOrderCount())), adminToken);
+            get("finances.overview", "/api/finances/overview", adminToken);
+        }
+
+        private JsonNode login(String name, String email) throws IOException, InterruptedException {
+            ObjectNode credentials = objectMapper.createObjectNode()
+                    .put("email", email)
+                    .put("password", CatalogGenerator.PASSWORD);
+            return send(name, request("/api/auth/login", null)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(credentials)))
+                    .build());
+        }
+
+        /**
+         * Revalidates a cached response with If-None-Match and reuses its body on a 304.
+         */
+        private JsonNode get(String name, String path, String token) throws IOException, InterruptedException {
+            HttpRequest.Builder request = request(path, token).GET();
+            CachedResponse cached = cache.get(path);
+            if (cached != null) {
+                request.header("If-None-Match", cached.etag());
+            }
+            HttpResponse<byte[]> response = exchange(name, request.build());
+            if (cached != null && response.statusCode() == 304) {
+                return cached.body();
+            }
+            JsonNode body = parse(response);
+            response.headers().firstValue("ETag").ifPresent(etag -> cache.put(path, new CachedResponse(etag, body)));
+            return body;
+        }
+
+        private HttpRequest.Builder request(String path, String token) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(60));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        private JsonNode send(String name, HttpRequest request) throws IOException, InterruptedException {
+            return parse(exchange(name, request));
+        }
+
+        private HttpResponse<byte[]> exchange(String name, HttpRequest request) throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                record(name, start, true);
+                throw e;
+            }
+            boolean error = response.statusCode() >= 400;
+            record(name, start, error);
+            if (error) {
+                throw new IOException(name + " returned " + response.statusCode());
+            }
+            return response;
+        }
+
+        private JsonNode parse(HttpResponse<byte[]> response) throws IOException {
+            return response.body().length > 0 ? objectMapper.readTree(response.body()) : objectMapper.nullNode();
+        }
+
+        private void record(String name, long start, boolean error) {
+            if (start >= measureFrom) {
+                recorder.record(name, System.nanoTime() - start, error);
+            }
+        }
+
+        private int random(int bound) {
+            return ThreadLocalRandom.current().nextInt(Math.max(bound, 1));
+        }
+    }
+
+    private record CachedResponse(String etag, JsonNode body) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.strive.loadtest;
+
+import com.strive.backend.BackendApplication;
+import org.h2.tools.Server;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+
+/**
+ * Starts the backend with the {@code loadtest} profile against an in-memory H2 database, seeds it,
+ * drives traffic at it and exits when the report has been printed.
+ */
+public class LoadTestApplication {
+
+	public static void main(String[] args) throws SQLException {
+		Server database = Server.createTcpServer("-tcpPort", System.getProperty("loadtest.h2.port", "9092"),
+				"-ifNotExists").start();
+		int exitCode;
+		try {
+			SpringApplication application = new SpringApplication(BackendApplication.class, LoadTestConfiguration.class);
+			application.setAdditionalProfiles("loadtest");
+			ConfigurableApplicationContext context = application.run(args);
+			exitCode = SpringApplication.exit(context);
+		} finally {
+			database.stop();
+		}
+		System.exit(exitCode);
+	}
+}
@@ -0,0 +1,78 @@
+package com.strive.loadtest;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.util.Properties;
+
+@Configuration
+@Import({CatalogGenerator.class, ReplicaSnapshot.class, LoadDriver.class})
+public class LoadTestConfiguration {
+
+    @Bean
+    public DataSourceInitializer loadTestSchema(DataSource dataSource,
+                                                @Value("${loadtest.schema:classpath:mysql/schema.sql}") Resource schema) {
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(new MysqlSchemaPopulator(schema));
+        return initializer;
+    }
+
+    /**
+     * Order and welcome emails are still built, so their cost stays in the numbers, but nothing is sent.
+     * A configurable delay per send stands in for the SMTP round trips.
+     */
+    @Bean
+    @Primary
+    public JavaMailSender loadTestMailSender(@Value("${loadtest.mail.latency-ms:0}") long latencyMs) {
+        return new JavaMailSender() {
+            private final Session session = Session.getInstance(new Properties());
+
+            @Override
+            public MimeMessage createMimeMessage() {
+                return new MimeMessage(session);
+            }
+
+            @Override
+            public MimeMessage createMimeMessage(InputStream contentStream) {
+                try {
+                    return new MimeMessage(session, contentStream);
+                } catch (jakarta.mail.MessagingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public void send(MimeMessage... mimeMessages) {
+                simulateSmtp();
+            }
+
+            @Override
+            public void send(SimpleMailMessage... simpleMessages) {
+                simulateSmtp();
+            }
+
+            private void simulateSmtp() {
+                if (latencyMs <= 0) {
+                    return;
+                }
+                try {
+                    Thread.sleep(latencyMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.strive.loadtest;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.sequence.NoSequenceSupport;
+import org.hibernate.dialect.sequence.SequenceSupport;
+
+/**
+ * H2 without sequences, so {@code @SequenceGenerator} ids fall back to the {@code *_seq} tables from
+ * schema.sql exactly as they do on MySQL.
+ */
+public class MysqlModeH2Dialect extends H2Dialect {
+
+    @Override
+    public SequenceSupport getSequenceSupport() {
+        return NoSequenceSupport.INSTANCE;
+    }
+}
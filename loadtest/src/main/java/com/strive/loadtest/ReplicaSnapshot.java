@@ -0,0 +1,63 @@
+package com.strive.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * With the {@code replicas} profile, copies the seeded primary into each replica database so reads
+ * routed there see the same catalogue. This is a one-off snapshot, like a replica restored from a dump;
+ * nothing is replicated afterwards.
+ */
+@Order(2)
+@ConditionalOnProperty(name = "persistence.replicas.enabled", havingValue = "true")
+public class ReplicaSnapshot implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSnapshot.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${persistence.replicas.urls}")
+    private String urls;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException, SQLException {
+        long start = System.nanoTime();
+        Path script = Files.createTempFile("strive-primary", ".sql");
+        try {
+            // Outside a transaction, so this reads the primary
+            jdbcTemplate.execute("SCRIPT TO '" + script + "'");
+            for (String url : StringUtils.commaDelimitedListToStringArray(urls)) {
+                try (Connection connection = DriverManager.getConnection(url.trim(), username, password);
+                     Statement statement = connection.createStatement()) {
+                    statement.execute("RUNSCRIPT FROM '" + script + "'");
+                }
+            }
+        } finally {
+            Files.deleteIfExists(script);
+        }
+        log.info("Copied the primary to the read replicas in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,10 @@
+-- Supports keyset paging of the transaction history by (created_at, id),
+-- optionally filtered by transaction type. Filtering by order_id is already
+-- covered by the index MySQL creates for the order_id foreign key.
+USE strive;
+
+CREATE INDEX idx_financial_transactions_created_at_id
+    ON financial_transactions (created_at, id);
+
+CREATE INDEX idx_financial_transactions_type_created_at_id
+    ON financial_transactions (transaction_type, created_at, id);
@@ -0,0 +1,24 @@
+-- Weekly and monthly revenue rollups backing /api/finances/analytics/revenue.
+-- Weeks start on Monday. The rollups are seeded from the existing daily
+-- financial_metrics rows and maintained incrementally from then on.
+USE strive;
+
+CREATE TABLE financial_metric_rollups (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    granularity ENUM('WEEK', 'MONTH') NOT NULL,
+    period_start DATE NOT NULL,
+    revenue DECIMAL(12,2) NOT NULL DEFAULT 0,
+    orders_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_granularity_period (granularity, period_start)
+);
+
+INSERT INTO financial_metric_rollups (granularity, period_start, revenue, orders_count)
+SELECT 'WEEK', DATE_SUB(date, INTERVAL WEEKDAY(date) DAY), SUM(daily_revenue), SUM(orders_count)
+FROM financial_metrics
+GROUP BY DATE_SUB(date, INTERVAL WEEKDAY(date) DAY);
+
+INSERT INTO financial_metric_rollups (granularity, period_start, revenue, orders_count)
+SELECT 'MONTH', DATE_FORMAT(date, '%Y-%m-01'), SUM(daily_revenue), SUM(orders_count)
+FROM financial_metrics
+GROUP BY DATE_FORMAT(date, '%Y-%m-01');
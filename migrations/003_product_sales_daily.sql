@@ -0,0 +1,26 @@
+-- Daily units and revenue per product and size backing /api/finances/sales/*
+-- and the "bestseller" catalog sort. Seeded from existing order_items and
+-- maintained incrementally as orders are placed.
+USE strive;
+
+CREATE TABLE product_sales_daily (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    sale_date DATE NOT NULL,
+    product_id INT NOT NULL,
+    size VARCHAR(50) NOT NULL,
+    category_id INT,
+    units_sold INT NOT NULL DEFAULT 0,
+    revenue DECIMAL(12,2) NOT NULL DEFAULT 0,
+    order_lines INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_sale_product_size (sale_date, product_id, size),
+    INDEX idx_product_sales_product_date (product_id, sale_date)
+);
+
+INSERT INTO product_sales_daily (sale_date, product_id, size, category_id, units_sold, revenue, order_lines)
+SELECT DATE(o.created_at), oi.product_id, oi.size, MAX(p.category_id),
+       SUM(oi.quantity), SUM(oi.price * oi.quantity), COUNT(*)
+FROM order_items oi
+JOIN orders o ON o.id = oi.order_id
+LEFT JOIN products p ON p.id = oi.product_id
+GROUP BY DATE(o.created_at), oi.product_id, oi.size;
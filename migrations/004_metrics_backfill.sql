@@ -0,0 +1,35 @@
+-- Bookkeeping for the resumable financial_metrics backfill started from
+-- POST /api/finances/backfill, plus an index so per-partition order scans
+-- read only the days being recomputed.
+USE strive;
+
+CREATE TABLE metrics_backfill_jobs (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status ENUM('PENDING', 'RUNNING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    total_partitions INT NOT NULL,
+    completed_partitions INT NOT NULL DEFAULT 0,
+    failed_partitions INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    requested_by VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    INDEX idx_metrics_backfill_jobs_status (status)
+);
+
+CREATE TABLE metrics_backfill_partitions (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_id BIGINT NOT NULL,
+    partition_start DATE NOT NULL,
+    partition_end DATE NOT NULL,
+    status ENUM('PENDING', 'RUNNING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (job_id) REFERENCES metrics_backfill_jobs(id) ON DELETE CASCADE,
+    INDEX idx_metrics_backfill_partitions_job_status (job_id, status)
+);
+
+CREATE INDEX idx_orders_created_at ON orders (created_at);
@@ -0,0 +1,5 @@
+-- Per-user token version carried in the JWT "ver" claim. Bumping it revokes
+-- every token issued before a role, email or password change.
+USE strive;
+
+ALTER TABLE users ADD COLUMN token_version INT NOT NULL DEFAULT 0 AFTER role;
@@ -0,0 +1,12 @@
+-- Shared sliding-window counters for login and password reset rate limiting,
+-- only used with security.rate-limit.shared-window.enabled. Keys are SHA-256
+-- hashes of the limited IP or email; window_start is in epoch seconds.
+USE strive;
+
+CREATE TABLE auth_rate_limits (
+    limiter_key CHAR(64) NOT NULL,
+    window_start BIGINT NOT NULL,
+    hits INT NOT NULL,
+    PRIMARY KEY (limiter_key, window_start),
+    INDEX idx_auth_rate_limits_window (window_start)
+);
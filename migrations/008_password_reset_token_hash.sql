@@ -0,0 +1,15 @@
+-- Store password reset tokens as SHA-256 hashes and index expiry for the
+-- scheduled sweeper. Outstanding plain-text tokens are dropped; they expire
+-- within minutes and users can request a new link.
+USE strive;
+
+DELETE FROM password_reset_tokens;
+
+ALTER TABLE password_reset_tokens
+    DROP COLUMN token,
+    ADD COLUMN token_hash CHAR(64) NOT NULL AFTER id,
+    ADD UNIQUE KEY unique_password_reset_token_hash (token_hash),
+    ADD INDEX idx_password_reset_tokens_expiry (expiry_date);
+
+ALTER TABLE refresh_tokens
+    ADD INDEX idx_refresh_tokens_expiry (expires_at);
@@ -0,0 +1,20 @@
+-- Id blocks for order items and stocks. Hibernate reserves 50 ids per round
+-- trip from these tables instead of using AUTO_INCREMENT, so inserts of
+-- several rows can be sent as one JDBC batch. The columns keep AUTO_INCREMENT
+-- only so schema.sql and seed scripts can insert rows before the generators
+-- start. While the backend runs, an AUTO_INCREMENT id can fall inside a block
+-- Hibernate has already reserved and later fail with a duplicate key. Scripts
+-- that insert stocks or order items then must reserve their ids first:
+--   UPDATE stocks_seq SET next_val = LAST_INSERT_ID(next_val) + <rows>;
+--   -- ids LAST_INSERT_ID() .. LAST_INSERT_ID() + <rows> - 1 are now theirs
+USE strive;
+
+CREATE TABLE stocks_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO stocks_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM stocks;
+
+CREATE TABLE order_items_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO order_items_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM order_items;
@@ -0,0 +1,10 @@
+-- Optimistic lock versions. Hibernate increments the column on every update
+-- and rejects a write whose version no longer matches, so concurrent admin
+-- edits conflict instead of silently overwriting each other.
+USE strive;
+
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER updated_at;
+ALTER TABLE stocks ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER updated_at;
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER updated_at;
+ALTER TABLE promotional_banners ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER updated_at;
+ALTER TABLE featured_categories ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER updated_at;
@@ -0,0 +1,14 @@
+-- Stocks and order items take their ids only from stocks_seq and
+-- order_items_seq. Without AUTO_INCREMENT an insert that does not reserve its
+-- ids fails at once instead of taking an id inside a block Hibernate has
+-- already handed out and failing later with a duplicate key. Scripts reserve
+-- ids as described in 009:
+--   UPDATE stocks_seq SET next_val = LAST_INSERT_ID(next_val) + <rows>;
+USE strive;
+
+ALTER TABLE stocks MODIFY id INT NOT NULL;
+ALTER TABLE order_items MODIFY id INT NOT NULL;
+
+-- Rows inserted through AUTO_INCREMENT since 009 may lie above the next block
+UPDATE stocks_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM stocks));
+UPDATE order_items_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM order_items));
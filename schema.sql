@@ -11,6 +11,7 @@ CREATE TABLE users (
     phone VARCHAR(20),
     country_code VARCHAR(5),
     role ENUM('CUSTOMER', 'ADMIN', 'MANAGER') NOT NULL DEFAULT 'CUSTOMER',
+    token_version INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
@@ -33,6 +34,7 @@ CREATE TABLE featured_categories (
     display_order INT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE,
     CHECK (display_order BETWEEN 1 AND 6)
 );
@@ -48,7 +50,8 @@ CREATE TABLE promotional_banners (
     display_order INT NOT NULL,
     active BOOLEAN DEFAULT TRUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Products
@@ -61,6 +64,7 @@ CREATE TABLE products (
     status ENUM('ACTIVE', 'INACTIVE') NOT NULL DEFAULT 'ACTIVE',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE SET NULL
 );
 
@@ -92,10 +96,17 @@ CREATE TABLE stocks (
     size VARCHAR(50) NOT NULL,
     quantity INT NOT NULL DEFAULT 0 CHECK (quantity >= 0),
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     UNIQUE (product_id, size),
     FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
 );
 
+-- Next id block for stocks, handed out by the backend so inserts can be batched. AUTO_INCREMENT is
+-- only for the sample rows below and is dropped after them; later rows must take their ids from here.
+CREATE TABLE stocks_seq (
+    next_val BIGINT NOT NULL
+);
+
 -- Reviews (per product and user)
 CREATE TABLE reviews (
     id INT PRIMARY KEY AUTO_INCREMENT,
@@ -191,8 +202,10 @@ CREATE TABLE orders (
     card_expiry VARCHAR(5),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    FOREIGN KEY (address_id) REFERENCES order_addresses(id)
+    FOREIGN KEY (address_id) REFERENCES order_addresses(id),
+    INDEX idx_orders_created_at (created_at)
 );
 
 -- Order Items table
@@ -208,6 +221,27 @@ CREATE TABLE order_items (
     FOREIGN KEY (product_id) REFERENCES products(id)
 );
 
+-- Next id block for order items, handed out by the backend so inserts can be batched. AUTO_INCREMENT is
+-- only for the sample rows below and is dropped after them; later rows must take their ids from here.
+CREATE TABLE order_items_seq (
+    next_val BIGINT NOT NULL
+);
+
+-- Daily units and revenue per product and size, maintained as orders are placed
+CREATE TABLE product_sales_daily (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    sale_date DATE NOT NULL,
+    product_id INT NOT NULL,
+    size VARCHAR(50) NOT NULL,
+    category_id INT,
+    units_sold INT NOT NULL DEFAULT 0,
+    revenue DECIMAL(12,2) NOT NULL DEFAULT 0,
+    order_lines INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_sale_product_size (sale_date, product_id, size),
+    INDEX idx_product_sales_product_date (product_id, sale_date)
+);
+
 -- Financial metrics table
 CREATE TABLE financial_metrics (
     id INT PRIMARY KEY AUTO_INCREMENT,
@@ -220,6 +254,17 @@ CREATE TABLE financial_metrics (
     UNIQUE KEY unique_date (date)
 );
 
+-- Weekly (Monday-based) and monthly revenue rollups, maintained incrementally
+CREATE TABLE financial_metric_rollups (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    granularity ENUM('WEEK', 'MONTH') NOT NULL,
+    period_start DATE NOT NULL,
+    revenue DECIMAL(12,2) NOT NULL DEFAULT 0,
+    orders_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_granularity_period (granularity, period_start)
+);
+
 -- Transaction records for individual financial events
 CREATE TABLE financial_transactions (
     id INT PRIMARY KEY AUTO_INCREMENT,
@@ -228,19 +273,78 @@ CREATE TABLE financial_transactions (
     description VARCHAR(255) NOT NULL,
     transaction_type ENUM('ORDER', 'REFUND') NOT NULL DEFAULT 'ORDER',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE SET NULL
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE SET NULL,
+    INDEX idx_financial_transactions_created_at_id (created_at, id),
+    INDEX idx_financial_transactions_type_created_at_id (transaction_type, created_at, id)
+);
+
+-- Resumable financial_metrics backfill jobs and their date partitions
+CREATE TABLE metrics_backfill_jobs (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status ENUM('PENDING', 'RUNNING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    total_partitions INT NOT NULL,
+    completed_partitions INT NOT NULL DEFAULT 0,
+    failed_partitions INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    requested_by VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    INDEX idx_metrics_backfill_jobs_status (status)
+);
+
+CREATE TABLE metrics_backfill_partitions (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_id BIGINT NOT NULL,
+    partition_start DATE NOT NULL,
+    partition_end DATE NOT NULL,
+    status ENUM('PENDING', 'RUNNING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (job_id) REFERENCES metrics_backfill_jobs(id) ON DELETE CASCADE,
+    INDEX idx_metrics_backfill_partitions_job_status (job_id, status)
 );
 
 -- Password Reset Tokens table
 CREATE TABLE password_reset_tokens (
     id INT PRIMARY KEY AUTO_INCREMENT,
-    token VARCHAR(255) NOT NULL UNIQUE,
+    token_hash CHAR(64) NOT NULL,
     user_id INT NOT NULL,
     expiry_date TIMESTAMP NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_password_reset_token_hash (token_hash),
+    INDEX idx_password_reset_tokens_expiry (expiry_date),
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Refresh tokens, stored as SHA-256 hashes and rotated on every use
+CREATE TABLE refresh_tokens (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    token_hash CHAR(64) NOT NULL,
+    family_id CHAR(36) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    used_at TIMESTAMP NULL,
+    revoked_at TIMESTAMP NULL,
+    UNIQUE KEY unique_refresh_token_hash (token_hash),
+    INDEX idx_refresh_tokens_family (family_id),
+    INDEX idx_refresh_tokens_user (user_id),
+    INDEX idx_refresh_tokens_expiry (expires_at),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE auth_rate_limits (
+    limiter_key CHAR(64) NOT NULL,
+    window_start BIGINT NOT NULL,
+    hits INT NOT NULL,
+    PRIMARY KEY (limiter_key, window_start),
+    INDEX idx_auth_rate_limits_window (window_start)
+);
+
 -- Insert notification preferences
 INSERT INTO notification_preferences (user_id, email_notifications, order_updates, promotions, newsletter) VALUES
 (1, TRUE, TRUE, FALSE, TRUE),  -- Admin
@@ -396,6 +500,17 @@ INSERT INTO financial_metrics (date, daily_revenue, orders_count) VALUES
 (CURRENT_DATE() - INTERVAL 185 DAY, 239.98, 1),
 (CURRENT_DATE() - INTERVAL 200 DAY, 419.99, 1);
 
+-- Rollups for the sample metrics
+INSERT INTO financial_metric_rollups (granularity, period_start, revenue, orders_count)
+SELECT 'WEEK', DATE_SUB(date, INTERVAL WEEKDAY(date) DAY), SUM(daily_revenue), SUM(orders_count)
+FROM financial_metrics
+GROUP BY DATE_SUB(date, INTERVAL WEEKDAY(date) DAY);
+
+INSERT INTO financial_metric_rollups (granularity, period_start, revenue, orders_count)
+SELECT 'MONTH', DATE_FORMAT(date, '%Y-%m-01'), SUM(daily_revenue), SUM(orders_count)
+FROM financial_metrics
+GROUP BY DATE_FORMAT(date, '%Y-%m-01');
+
 -- Financial Transactions Sample Data - Order IDs match the new ordering
 INSERT INTO financial_transactions (order_id, amount, description, transaction_type, created_at) VALUES
 (22, 209.97, 'Order #22', 'ORDER', CURRENT_DATE() - INTERVAL 1 DAY),
@@ -824,4 +939,12 @@ INSERT INTO reviews (product_id, user_id, rating, comment, created_at) VALUES
 (61, 4, 4, 'Comfortable backpack with good weight distribution. Water bottle pockets could be bigger.', CURRENT_TIMESTAMP - INTERVAL 90 DAY),
 -- Alpine Down Jacket
 (52, 3, 5, 'Incredibly warm without being bulky. Perfect for skiing in cold conditions.', CURRENT_TIMESTAMP - INTERVAL 180 DAY),
-(52, 4, 4, 'Great jacket with excellent insulation. Packs down small for travel.', CURRENT_TIMESTAMP - INTERVAL 175 DAY);
\ No newline at end of file
+(52, 4, 4, 'Great jacket with excellent insulation. Packs down small for travel.', CURRENT_TIMESTAMP - INTERVAL 175 DAY);
+
+-- From here on ids come only from the *_seq tables, so an insert without a reserved id fails
+ALTER TABLE stocks MODIFY id INT NOT NULL;
+ALTER TABLE order_items MODIFY id INT NOT NULL;
+
+-- Start the id generators after the sample rows
+INSERT INTO stocks_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM stocks;
+INSERT INTO order_items_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM order_items;